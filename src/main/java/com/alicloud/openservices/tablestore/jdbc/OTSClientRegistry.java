@@ -0,0 +1,69 @@
+package com.alicloud.openservices.tablestore.jdbc;
+
+import com.alicloud.openservices.tablestore.AsyncClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+class OTSClientRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OTSClientRegistry.class);
+
+    private static final Map<List<Object>, Entry> clients = new HashMap<>();
+    private static final Map<AsyncClient, Entry> entries = new IdentityHashMap<>();
+
+    private static class Entry {
+        private final List<Object> key;
+        private final AsyncClient client;
+        private int refCount = 0;
+
+        Entry(List<Object> key, AsyncClient client) {
+            this.key = key;
+            this.client = client;
+        }
+    }
+
+    private OTSClientRegistry() {
+    }
+
+    static synchronized AsyncClient acquire(OTSConnectionConfiguration config) {
+        List<Object> key = config.getClientKey();
+        Entry entry = clients.get(key);
+        if (entry == null) {
+            LOGGER.debug("create client for endpoint: " + config.getEndPoint() + ", instance: " + config.getInstanceName());
+            AsyncClient client = new AsyncClient(config.getEndPoint(), config.getAccessKeyId(), config.getAccessKeySecret(),
+                    config.getInstanceName(), config.getClientConfiguration());
+            entry = new Entry(key, client);
+            clients.put(key, entry);
+            entries.put(client, entry);
+        }
+        entry.refCount++;
+        return entry.client;
+    }
+
+    static void release(AsyncClient client) {
+        if (client == null) {
+            return;
+        }
+        synchronized (OTSClientRegistry.class) {
+            Entry entry = entries.get(client);
+            if (entry == null || --entry.refCount > 0) {
+                return;
+            }
+            clients.remove(entry.key);
+            entries.remove(client);
+        }
+        // shutdown outside the lock, it waits for the IO reactor to stop
+        LOGGER.debug("shutdown client for endpoint: " + client.getEndpoint() + ", instance: " + client.getInstanceName());
+        client.shutdown();
+    }
+
+    static synchronized int refCount(AsyncClient client) {
+        Entry entry = entries.get(client);
+        return entry == null ? 0 : entry.refCount;
+    }
+}
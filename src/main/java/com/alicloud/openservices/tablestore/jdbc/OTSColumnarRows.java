@@ -0,0 +1,292 @@
+package com.alicloud.openservices.tablestore.jdbc;
+
+import com.alicloud.openservices.tablestore.model.ColumnType;
+import com.alicloud.openservices.tablestore.model.sql.SQLRow;
+
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// materialized rows stored column by column, numbers and booleans are kept unboxed, binaries share one arena and
+// low cardinality strings are dictionary encoded
+class OTSColumnarRows {
+
+    private static final int LONG = 0;
+    private static final int DOUBLE = 1;
+    private static final int BOOLEAN = 2;
+    private static final int BINARY = 3;
+    private static final int OBJECT = 4;
+    private static final int DICTIONARY = 5;
+    // the largest array most JVMs allocate
+    static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final Column[] columns;
+    private final int dictionaryThreshold;
+    private int size = 0;
+    private int capacity;
+    private long estimatedBytes = 0;
+
+    private static class Column {
+        private int kind;
+        private final BitSet nulls = new BitSet();
+        private long[] longs;
+        private double[] doubles;
+        private BitSet booleans;
+        private byte[] arena;
+        private int arenaSize;
+        private int[] offsets;
+        private Object[] objects;
+        private int[] codes;
+        private List<String> dictionary;
+        private Map<String, Integer> dictionaryCodes;
+    }
+
+    OTSColumnarRows(List<ColumnType> types, int capacity, int dictionaryThreshold) {
+        this.capacity = Math.max(capacity, 16);
+        this.dictionaryThreshold = dictionaryThreshold;
+        this.columns = new Column[types.size()];
+        for (int i = 0; i < columns.length; i++) {
+            Column column = new Column();
+            switch (types.get(i)) {
+                case INTEGER:
+                    column.kind = LONG;
+                    column.longs = new long[this.capacity];
+                    break;
+                case DOUBLE:
+                    column.kind = DOUBLE;
+                    column.doubles = new double[this.capacity];
+                    break;
+                case BOOLEAN:
+                    column.kind = BOOLEAN;
+                    column.booleans = new BitSet();
+                    break;
+                case BINARY:
+                    column.kind = BINARY;
+                    column.arena = new byte[(int) Math.min(this.capacity * 8L, MAX_ARRAY_LENGTH)];
+                    column.offsets = new int[this.capacity + 1];
+                    break;
+                case STRING:
+                    if (dictionaryThreshold > 0) {
+                        column.kind = DICTIONARY;
+                        column.codes = new int[this.capacity];
+                        column.dictionary = new ArrayList<>();
+                        column.dictionaryCodes = new HashMap<>();
+                        break;
+                    }
+                default:
+                    column.kind = OBJECT;
+                    column.objects = new Object[this.capacity];
+            }
+            columns[i] = column;
+        }
+    }
+
+    void add(SQLRow row) throws SQLException {
+        if (size == capacity) {
+            grow();
+        }
+        for (int i = 0; i < columns.length; i++) {
+            set(columns[i], row.get(i));
+        }
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // rough heap usage of the stored values, used to decide when to spill
+    long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    boolean isLong(int column) {
+        return columns[column].kind == LONG;
+    }
+
+    boolean isDouble(int column) {
+        return columns[column].kind == DOUBLE;
+    }
+
+    boolean isBoolean(int column) {
+        return columns[column].kind == BOOLEAN;
+    }
+
+    boolean isNull(int row, int column) {
+        return columns[column].nulls.get(row);
+    }
+
+    long getLong(int row, int column) {
+        return columns[column].longs[row];
+    }
+
+    double getDouble(int row, int column) {
+        return columns[column].doubles[row];
+    }
+
+    boolean getBoolean(int row, int column) {
+        return columns[column].booleans.get(row);
+    }
+
+    Object get(int row, int column) {
+        return get(columns[column], row);
+    }
+
+    private Object get(Column column, int row) {
+        if (column.nulls.get(row)) {
+            return null;
+        }
+        switch (column.kind) {
+            case LONG:
+                return column.longs[row];
+            case DOUBLE:
+                return column.doubles[row];
+            case BOOLEAN:
+                return column.booleans.get(row);
+            case BINARY:
+                int offset = column.offsets[row];
+                return ByteBuffer.wrap(column.arena, offset, column.offsets[row + 1] - offset).slice().asReadOnlyBuffer();
+            case DICTIONARY:
+                return column.dictionary.get(column.codes[row]);
+            default:
+                return column.objects[row];
+        }
+    }
+
+    private void set(Column column, Object value) throws SQLException {
+        if (value == null) {
+            column.nulls.set(size);
+            if (column.kind == BINARY) {
+                column.offsets[size + 1] = column.arenaSize;
+            }
+            return;
+        }
+        switch (column.kind) {
+            case LONG:
+                if (value instanceof Long) {
+                    estimatedBytes += 8;
+                    column.longs[size] = (Long) value;
+                    return;
+                }
+                break;
+            case DOUBLE:
+                if (value instanceof Double) {
+                    estimatedBytes += 8;
+                    column.doubles[size] = (Double) value;
+                    return;
+                }
+                break;
+            case BOOLEAN:
+                if (value instanceof Boolean) {
+                    column.booleans.set(size, (Boolean) value);
+                    return;
+                }
+                break;
+            case BINARY:
+                if (value instanceof ByteBuffer) {
+                    ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+                    int length = buffer.remaining();
+                    if ((long) column.arenaSize + length > column.arena.length) {
+                        column.arena = Arrays.copyOf(column.arena, grownLength(column.arena.length, (long) column.arenaSize + length));
+                    }
+                    buffer.get(column.arena, column.arenaSize, length);
+                    column.arenaSize += length;
+                    estimatedBytes += length + 4;
+                    column.offsets[size + 1] = column.arenaSize;
+                    return;
+                }
+                break;
+            case DICTIONARY:
+                if (value instanceof String) {
+                    Integer code = column.dictionaryCodes.get(value);
+                    if (code == null && column.dictionary.size() < dictionaryThreshold) {
+                        code = column.dictionary.size();
+                        column.dictionary.add((String) value);
+                        column.dictionaryCodes.put((String) value, code);
+                        estimatedBytes += estimate(value);
+                    }
+                    if (code != null) {
+                        estimatedBytes += 4;
+                        column.codes[size] = code;
+                        return;
+                    }
+                }
+                // too many distinct values
+                break;
+            default:
+                estimatedBytes += estimate(value);
+                column.objects[size] = value;
+                return;
+        }
+        // the value does not match the declared column type, keep the column as objects from now on
+        toObjects(column);
+        estimatedBytes += estimate(value);
+        column.objects[size] = value;
+    }
+
+    private static long estimate(Object value) {
+        if (value instanceof String) {
+            return 40 + 2L * ((String) value).length();
+        } else if (value instanceof ByteBuffer) {
+            return 48 + ((ByteBuffer) value).remaining();
+        } else if (value instanceof ZonedDateTime) {
+            return 80;
+        }
+        return 24;
+    }
+
+    private void toObjects(Column column) {
+        Object[] objects = new Object[capacity];
+        for (int row = 0; row < size; row++) {
+            objects[row] = get(column, row);
+        }
+        column.kind = OBJECT;
+        column.objects = objects;
+        column.longs = null;
+        column.doubles = null;
+        column.booleans = null;
+        column.arena = null;
+        column.offsets = null;
+        column.codes = null;
+        column.dictionary = null;
+        column.dictionaryCodes = null;
+    }
+
+    // doubles the length up to the largest array, and fails instead of overflowing when the required one does not fit
+    static int grownLength(int length, long required) throws SQLException {
+        if (required > MAX_ARRAY_LENGTH) {
+            throw new SQLException("Result set is too large to keep in memory, a column needs " + required
+                    + " entries or bytes. Use a forward-only result set, a smaller maxRows or spillThresholdInBytes.");
+        }
+        return (int) Math.min(Math.max(length * 2L, required), MAX_ARRAY_LENGTH);
+    }
+
+    private void grow() throws SQLException {
+        capacity = grownLength(capacity, capacity + 1L);
+        for (Column column : columns) {
+            switch (column.kind) {
+                case LONG:
+                    column.longs = Arrays.copyOf(column.longs, capacity);
+                    break;
+                case DOUBLE:
+                    column.doubles = Arrays.copyOf(column.doubles, capacity);
+                    break;
+                case BINARY:
+                    column.offsets = Arrays.copyOf(column.offsets, capacity + 1);
+                    break;
+                case OBJECT:
+                    column.objects = Arrays.copyOf(column.objects, capacity);
+                    break;
+                case DICTIONARY:
+                    column.codes = Arrays.copyOf(column.codes, capacity);
+                    break;
+            }
+        }
+    }
+}
@@ -2,6 +2,11 @@ package com.alicloud.openservices.tablestore.jdbc;
 
 
 import com.alicloud.openservices.tablestore.AsyncClient;
+import com.alicloud.openservices.tablestore.ClientException;
+import com.alicloud.openservices.tablestore.TableStoreCallback;
+import com.alicloud.openservices.tablestore.TableStoreException;
+import com.alicloud.openservices.tablestore.model.sql.SQLQueryRequest;
+import com.alicloud.openservices.tablestore.model.sql.SQLQueryResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,7 +15,16 @@ import javax.sql.rowset.serial.SerialClob;
 import java.sql.*;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class OTSConnection extends WrapperAdapter implements Connection {
 
@@ -40,26 +54,45 @@ public class OTSConnection extends WrapperAdapter implements Connection {
     static final String PROXY_WORKSTATION = "proxyWorkstation";
     static final String SYNC_CLIENT_WAIT_FUTURE_TIMEOUT_IN_MILLIS = "syncClientWaitFutureTimeoutInMillis";
     static final String CONNECTION_REQUEST_TIMEOUT_IN_MILLISECOND = "connectionRequestTimeoutInMillisecond";
+    static final String LAZY_CONNECT = "lazyConnect";
+    static final String VALIDATION_CACHE_TIME_IN_MILLISECOND = "validationCacheTimeInMillisecond";
+    static final String DICTIONARY_ENCODING_THRESHOLD = "dictionaryEncodingThreshold";
+    static final String SPILL_THRESHOLD_IN_BYTES = "spillThresholdInBytes";
+    static final String MAX_RESULT_SET_MEMORY_IN_BYTES = "maxResultSetMemoryInBytes";
+    static final String PREPARED_STATEMENT_CACHE_SIZE = "preparedStatementCacheSize";
+    static final String METADATA_CACHE_TIME_IN_MILLISECOND = "metadataCacheTimeInMillisecond";
+    static final String METADATA_SNAPSHOT_FILE = "metadataSnapshotFile";
+    static final String ENABLE_FETCH_SIZE_PAGING = "enableFetchSizePaging";
+    static final String VALIDATION_QUERY = "SHOW TABLES";
 
     private final String url;
     OTSConnectionConfiguration config;
     AsyncClient otsClient;
     private Properties info;
-    private boolean isClosed = false;
+    private final AtomicBoolean isClosed = new AtomicBoolean(false);
     private SQLWarning warnings = null;
+    private OTSDatabaseMetaData metaData;
+    volatile long lastValidationTime = 0;
+    final Set<CompletableFuture<?>> requests = ConcurrentHashMap.newKeySet();
+    final OTSMemoryTracker resultSetMemory = new OTSMemoryTracker(OTSDriver.RESULT_SET_MEMORY, () -> config.getMaxResultSetMemoryInBytes());
+    // result sets the callers left open are closed with the connection, which releases their memory and files
+    final Set<OTSResultSet> resultSets = ConcurrentHashMap.newKeySet();
+    final OTSTemplateCache templateCache = new OTSTemplateCache(() -> config.getPreparedStatementCacheSize());
 
     OTSConnection(String url, Properties info) throws SQLException {
         LOGGER.debug("create connection with url: " + url);
         this.url = url;
         this.info = info;
         config = OTSConnectionConfiguration.parse(url, info);
-        otsClient = new AsyncClient(config.getEndPoint(), config.getAccessKeyId(), config.getAccessKeySecret(), config.getInstanceName(), config.getClientConfiguration());
+        OTSMetadataCache.INSTANCE.attach(config.getMetadataSnapshotFile());
+        if (!config.isLazyConnect()) {
+            otsClient = OTSClientRegistry.acquire(config);
+        }
     }
 
     @Override
     public OTSPreparedStatement prepareStatement(String sql) throws SQLException {
-        checkClosed();
-        return new OTSPreparedStatement(this, sql);
+        return prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
     }
 
     @Override
@@ -85,12 +118,16 @@ public class OTSConnection extends WrapperAdapter implements Connection {
 
     @Override
     public OTSPreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
-        throw new SQLFeatureNotSupportedException();
+        checkClosed();
+        checkResultSetType(resultSetType, resultSetConcurrency);
+        open();
+        return new OTSPreparedStatement(this, templateCache.take(sql), resultSetType);
     }
 
     @Override
     public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
-        throw new SQLFeatureNotSupportedException();
+        // cursors are always held over commit
+        return prepareStatement(sql, resultSetType, resultSetConcurrency);
     }
 
     @Override
@@ -145,21 +182,40 @@ public class OTSConnection extends WrapperAdapter implements Connection {
     @Override
     public void close() {
         LOGGER.debug("close connection");
-        if (!isClosed) {
-            otsClient.shutdown();
-            isClosed = true;
+        if (isClosed.compareAndSet(false, true)) {
+            templateCache.clear();
+            closeResultSets();
+            releaseClient();
+        }
+    }
+
+    void track(OTSResultSet resultSet) {
+        resultSets.add(resultSet);
+        // created by a request that finished after the connection was closed
+        if (isClosed.get()) {
+            closeResultSets();
+        }
+    }
+
+    private void closeResultSets() {
+        for (OTSResultSet resultSet : resultSets) {
+            resultSet.close();
         }
     }
 
     @Override
     public boolean isClosed() {
-        return isClosed;
+        return isClosed.get();
     }
 
     @Override
     public DatabaseMetaData getMetaData() throws SQLException {
         checkClosed();
-        return new OTSDatabaseMetaData(this);
+        open();
+        if (metaData == null) {
+            metaData = new OTSDatabaseMetaData(this);
+        }
+        return metaData;
     }
 
     @Override
@@ -186,8 +242,10 @@ public class OTSConnection extends WrapperAdapter implements Connection {
     public void setCatalog(String catalog) throws SQLException {
         LOGGER.debug("setCatalog");
         checkClosed();
-        config.setInstanceName(catalog);
-        reconnect();
+        if (catalog == null || catalog.equals(config.getInstanceName())) {
+            return;
+        }
+        reconnect(catalog);
     }
 
     @Override
@@ -250,17 +308,22 @@ public class OTSConnection extends WrapperAdapter implements Connection {
     @Override
     public OTSStatement createStatement() throws SQLException {
         checkClosed();
+        open();
         return new OTSStatement(this);
     }
 
     @Override
     public OTSStatement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
-        throw new SQLFeatureNotSupportedException();
+        checkClosed();
+        checkResultSetType(resultSetType, resultSetConcurrency);
+        open();
+        return new OTSStatement(this, resultSetType);
     }
 
     @Override
     public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
-        throw new SQLFeatureNotSupportedException();
+        // cursors are always held over commit
+        return createStatement(resultSetType, resultSetConcurrency);
     }
 
     @Override
@@ -285,7 +348,56 @@ public class OTSConnection extends WrapperAdapter implements Connection {
 
     @Override
     public boolean isValid(int timeout) throws SQLException {
-        return !isClosed;
+        if (timeout < 0) {
+            throw new SQLException("timeout must be >= 0");
+        }
+        if (isClosed.get()) {
+            return false;
+        }
+        long cacheTime = TimeUnit.MILLISECONDS.toNanos(config.getValidationCacheTimeInMillisecond());
+        if (lastValidationTime != 0 && System.nanoTime() - lastValidationTime < cacheTime) {
+            return true;
+        }
+        long timeoutInMillis = timeout > 0 ? timeout * 1000L : config.getClientConfiguration().getSyncClientWaitFutureTimeoutInMillis();
+        // the probe is tracked so abort cancels it, and dropped like abort does once it is given up
+        CompletableFuture<SQLQueryResponse> probe = new CompletableFuture<>();
+        requests.add(probe);
+        Future<SQLQueryResponse> future = null;
+        try {
+            future = getClient().sqlQuery(new SQLQueryRequest(VALIDATION_QUERY), new TableStoreCallback<SQLQueryRequest, SQLQueryResponse>() {
+                @Override
+                public void onCompleted(SQLQueryRequest req, SQLQueryResponse res) {
+                    probe.complete(res);
+                }
+
+                @Override
+                public void onFailed(SQLQueryRequest req, Exception ex) {
+                    probe.completeExceptionally(ex);
+                }
+            });
+            if (timeoutInMillis > 0) {
+                probe.get(timeoutInMillis, TimeUnit.MILLISECONDS);
+            } else {
+                probe.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException | CancellationException | TableStoreException | ClientException e) {
+            LOGGER.debug("connection validation failed: " + e.getMessage());
+            lastValidationTime = 0;
+            return false;
+        } finally {
+            if (!probe.isDone()) {
+                probe.cancel(true);
+                if (future != null) {
+                    future.cancel(true);
+                }
+            }
+            requests.remove(probe);
+        }
+        lastValidationTime = System.nanoTime();
+        return true;
     }
 
     @Override
@@ -294,7 +406,7 @@ public class OTSConnection extends WrapperAdapter implements Connection {
         try {
             checkClosed();
             info.setProperty(name, value);
-            reconnect();
+            reconnect(config.getInstanceName());
         } catch (SQLException e) {
             throw new SQLClientInfoException(e.getMessage(), null);
         }
@@ -312,7 +424,7 @@ public class OTSConnection extends WrapperAdapter implements Connection {
         try {
             checkClosed();
             info = properties;
-            reconnect();
+            reconnect(config.getInstanceName());
         } catch (SQLException e) {
             throw new SQLClientInfoException(e.getMessage(), null);
         }
@@ -346,7 +458,19 @@ public class OTSConnection extends WrapperAdapter implements Connection {
 
     @Override
     public void abort(Executor executor) throws SQLException {
-        throw new SQLFeatureNotSupportedException();
+        LOGGER.debug("abort connection");
+        if (executor == null) {
+            throw new SQLException("executor must not be null");
+        }
+        if (!isClosed.compareAndSet(false, true)) {
+            return;
+        }
+        for (CompletableFuture<?> request : requests) {
+            request.cancel(true);
+        }
+        templateCache.clear();
+        closeResultSets();
+        executor.execute(this::releaseClient);
     }
 
     @Override
@@ -360,16 +484,63 @@ public class OTSConnection extends WrapperAdapter implements Connection {
         return config.getClientConfiguration().getConnectionRequestTimeoutInMillisecond();
     }
 
-    private void reconnect() throws SQLException {
+    // bytes held by the materialized result sets of this connection
+    public long getResultSetMemoryInBytes() {
+        return resultSetMemory.getUsed();
+    }
+
+    synchronized AsyncClient getClient() throws SQLException {
+        checkClosed();
+        open();
+        return otsClient;
+    }
+
+    private synchronized void open() {
+        if (otsClient == null) {
+            LOGGER.debug("open connection");
+            otsClient = OTSClientRegistry.acquire(config);
+        }
+    }
+
+    private synchronized void reconnect(String instanceName) throws SQLException {
         LOGGER.debug("reconnect");
-        otsClient.shutdown();
-        config = OTSConnectionConfiguration.parse(url, info);
-        otsClient = new AsyncClient(config.getEndPoint(), config.getAccessKeyId(), config.getAccessKeySecret(), config.getInstanceName(), config.getClientConfiguration());
+        OTSConnectionConfiguration newConfig = OTSConnectionConfiguration.parse(url, info);
+        newConfig.setInstanceName(instanceName);
+        if (otsClient == null) {
+            // not opened yet, the new configuration is picked up on first use
+            config = newConfig;
+            return;
+        }
+        if (!config.requiresNewClient(newConfig)) {
+            config = newConfig;
+            LOGGER.debug("settings applied without rebuilding the client");
+            return;
+        }
+        AsyncClient client = OTSClientRegistry.acquire(newConfig);
+        OTSClientRegistry.release(otsClient);
+        otsClient = client;
+        config = newConfig;
+        lastValidationTime = 0;
         LOGGER.debug("reconnect success");
     }
 
+    private synchronized void releaseClient() {
+        OTSClientRegistry.release(otsClient);
+        otsClient = null;
+    }
+
+    private void checkResultSetType(int resultSetType, int resultSetConcurrency) throws SQLException {
+        // scrollable result sets are materialized, forward-only ones are streamed
+        if (resultSetType != ResultSet.TYPE_FORWARD_ONLY && resultSetType != ResultSet.TYPE_SCROLL_INSENSITIVE) {
+            throw new SQLFeatureNotSupportedException("unsupported result set type: " + resultSetType);
+        }
+        if (resultSetConcurrency != ResultSet.CONCUR_READ_ONLY) {
+            throw new SQLFeatureNotSupportedException("unsupported result set concurrency: " + resultSetConcurrency);
+        }
+    }
+
     private void checkClosed() throws SQLException {
-        if (isClosed) {
+        if (isClosed.get()) {
             throw new SQLException("the connection has already been closed");
         }
     }
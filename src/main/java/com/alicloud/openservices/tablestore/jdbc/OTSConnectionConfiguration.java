@@ -7,6 +7,8 @@ import com.alicloud.openservices.tablestore.model.RetryStrategy;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
@@ -18,6 +20,16 @@ class OTSConnectionConfiguration {
     private String accessKeySecret;
     private String instanceName;
     private ClientConfiguration clientConfiguration;
+    private String retryStrategy;
+    private boolean lazyConnect;
+    private long validationCacheTimeInMillisecond;
+    private int dictionaryEncodingThreshold;
+    private long spillThresholdInBytes;
+    private long maxResultSetMemoryInBytes;
+    private int preparedStatementCacheSize;
+    private long metadataCacheTimeInMillisecond;
+    private String metadataSnapshotFile;
+    private boolean enableFetchSizePaging;
 
     static OTSConnectionConfiguration parse(String url, Properties info) throws SQLException {
         assert url != null;
@@ -91,6 +103,9 @@ class OTSConnectionConfiguration {
                 OTSConnection.ENABLE_RESPONSE_CONTENT_MD5_CHECKING,
                 String.valueOf(clientConfiguration.isEnableResponseContentMD5Checking()))));
         clientConfiguration.setRetryStrategy(parseRetryStrategy(info, clientConfiguration.getRetryStrategy()));
+        configuration.retryStrategy = info.getProperty(OTSConnection.RETRY_STRATEGY, "") + ":"
+                + info.getProperty(OTSConnection.RETRY_TIMEOUT, "") + ":"
+                + info.getProperty(OTSConnection.RETRY_TIMEOUT_UNIT, "");
         clientConfiguration.setTimeThresholdOfTraceLogger(Integer.parseInt(info.getProperty(
                 OTSConnection.TIME_THRESHOLD_OF_TRACE_LOGGER,
                 String.valueOf(clientConfiguration.getTimeThresholdOfTraceLogger()))));
@@ -117,9 +132,47 @@ class OTSConnectionConfiguration {
                 OTSConnection.CONNECTION_REQUEST_TIMEOUT_IN_MILLISECOND,
                 String.valueOf(clientConfiguration.getConnectionRequestTimeoutInMillisecond()))));
         configuration.clientConfiguration = clientConfiguration;
+        configuration.lazyConnect = Boolean.parseBoolean(info.getProperty(OTSConnection.LAZY_CONNECT, "false"));
+        configuration.validationCacheTimeInMillisecond = Long.parseLong(info.getProperty(
+                OTSConnection.VALIDATION_CACHE_TIME_IN_MILLISECOND, "5000"));
+        configuration.dictionaryEncodingThreshold = Integer.parseInt(info.getProperty(
+                OTSConnection.DICTIONARY_ENCODING_THRESHOLD, "1024"));
+        configuration.spillThresholdInBytes = Long.parseLong(info.getProperty(
+                OTSConnection.SPILL_THRESHOLD_IN_BYTES, "0"));
+        configuration.maxResultSetMemoryInBytes = Long.parseLong(info.getProperty(
+                OTSConnection.MAX_RESULT_SET_MEMORY_IN_BYTES, "0"));
+        configuration.preparedStatementCacheSize = Integer.parseInt(info.getProperty(
+                OTSConnection.PREPARED_STATEMENT_CACHE_SIZE, "256"));
+        configuration.metadataCacheTimeInMillisecond = Long.parseLong(info.getProperty(
+                OTSConnection.METADATA_CACHE_TIME_IN_MILLISECOND, "60000"));
+        configuration.metadataSnapshotFile = info.getProperty(OTSConnection.METADATA_SNAPSHOT_FILE, "");
+        configuration.enableFetchSizePaging = Boolean.parseBoolean(info.getProperty(
+                OTSConnection.ENABLE_FETCH_SIZE_PAGING, "false"));
         return configuration;
     }
 
+    List<Object> getClientKey() {
+        // connections with equal keys share one AsyncClient, see OTSClientRegistry. Settings that are
+        // missing here are applied without rebuilding the client: syncClientWaitFutureTimeoutInMillis is
+        // read by the statements, and lazyConnect, validationCacheTimeInMillisecond, dictionaryEncodingThreshold, spillThresholdInBytes,
+        // maxResultSetMemoryInBytes, preparedStatementCacheSize, metadataCacheTimeInMillisecond,
+        // metadataSnapshotFile and enableFetchSizePaging are driver-side only. The SDK binds the instance and the
+        // trace thresholds to the client, so setCatalog and threshold changes move the connection to another client.
+        ClientConfiguration c = clientConfiguration;
+        return Arrays.asList(endPoint, instanceName, accessKeyId, accessKeySecret,
+                c.isEnableRequestCompression(), c.isEnableResponseCompression(), c.isEnableResponseValidation(),
+                c.getIoThreadCount(), c.getMaxConnections(), c.getSocketTimeoutInMillisecond(),
+                c.getConnectionTimeoutInMillisecond(), c.getConnectionRequestTimeoutInMillisecond(),
+                c.getRetryThreadCount(), c.isEnableResponseContentMD5Checking(), retryStrategy,
+                c.getProxyHost(), c.getProxyPort(), c.getProxyUsername(), c.getProxyPassword(),
+                c.getProxyDomain(), c.getProxyWorkstation(),
+                c.getTimeThresholdOfTraceLogger(), c.getTimeThresholdOfServerTracer());
+    }
+
+    boolean requiresNewClient(OTSConnectionConfiguration other) {
+        return !getClientKey().equals(other.getClientKey());
+    }
+
     ClientConfiguration getClientConfiguration() {
         return clientConfiguration;
     }
@@ -140,6 +193,42 @@ class OTSConnectionConfiguration {
         return instanceName;
     }
 
+    boolean isLazyConnect() {
+        return lazyConnect;
+    }
+
+    long getValidationCacheTimeInMillisecond() {
+        return validationCacheTimeInMillisecond;
+    }
+
+    int getDictionaryEncodingThreshold() {
+        return dictionaryEncodingThreshold;
+    }
+
+    long getSpillThresholdInBytes() {
+        return spillThresholdInBytes;
+    }
+
+    long getMaxResultSetMemoryInBytes() {
+        return maxResultSetMemoryInBytes;
+    }
+
+    int getPreparedStatementCacheSize() {
+        return preparedStatementCacheSize;
+    }
+
+    long getMetadataCacheTimeInMillisecond() {
+        return metadataCacheTimeInMillisecond;
+    }
+
+    String getMetadataSnapshotFile() {
+        return metadataSnapshotFile;
+    }
+
+    boolean isEnableFetchSizePaging() {
+        return enableFetchSizePaging;
+    }
+
     public void setInstanceName(String instanceName) {
         this.instanceName = instanceName;
     }
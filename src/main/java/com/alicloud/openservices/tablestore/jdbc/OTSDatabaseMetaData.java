@@ -1,12 +1,14 @@
 package com.alicloud.openservices.tablestore.jdbc;
 
 import com.alicloud.openservices.tablestore.model.ColumnType;
+import com.alicloud.openservices.tablestore.model.sql.SQLQueryResponse;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class OTSDatabaseMetaData extends WrapperAdapter implements DatabaseMetaData {
 
@@ -19,6 +21,7 @@ public class OTSDatabaseMetaData extends WrapperAdapter implements DatabaseMetaD
     private static final String CATALOG_TERM = "instance";
     private static final int MAX_CATALOG_NAME_LENGTH = 16;
     private static final int MAX_TABLE_NAME_LENGTH = 255;
+    static final int MAX_CONCURRENT_METADATA_REQUESTS = 16;
     private final OTSConnection connection;
 
     OTSDatabaseMetaData(OTSConnection conn) {
@@ -155,20 +158,22 @@ public class OTSDatabaseMetaData extends WrapperAdapter implements DatabaseMetaD
         return quoteString;
     }
 
+    private static final String SQL_KEYWORDS = "ACCESSIBLE,ADD,ANALYZE,ASC,BEFORE,CASCADE,CHANGE,CONTINUE,DATABASE,DATABASES,DAY_HOUR,DAY_MICROSECOND" +
+            ",DAY_MINUTE,DAY_SECOND,DELAYED,DESC,DISTINCTROW,DIV,DUAL,ELSEIF,EMPTY,ENCLOSED,ESCAPED,EXIT,EXPLAIN," +
+            "FIRST_VALUE,FLOAT4,FLOAT8,FORCE,FULLTEXT,GENERATED,GROUPS,HIGH_PRIORITY,HOUR_MICROSECOND,HOUR_MINUTE," +
+            "HOUR_SECOND,IF,IGNORE,INDEX,INFILE,INT1,INT2,INT3,INT4,INT8,IO_AFTER_GTIDS,IO_BEFORE_GTIDS,ITERATE," +
+            "JSON_TABLE,KEY,KEYS,KILL,LAG,LAST_VALUE,LEAD,LEAVE,LIMIT,LINEAR,LINES,LOAD,LOCK,LONG,LONGBLOB,LONGTEXT," +
+            "LOOP,LOW_PRIORITY,MASTER_BIND,MASTER_SSL_VERIFY_SERVER_CERT,MAXVALUE,MEDIUMBLOB,MEDIUMINT,MEDIUMTEXT," +
+            "MIDDLEINT,MINUTE_MICROSECOND,MINUTE_SECOND,NO_WRITE_TO_BINLOG,NTH_VALUE,NTILE,OPTIMIZE,OPTIMIZER_COSTS," +
+            "OPTION,OPTIONALLY,OUTFILE,PURGE,READ,READ_WRITE,REGEXP,RENAME,REPEAT,REPLACE,REQUIRE,RESIGNAL,RESTRICT," +
+            "RLIKE,SCHEMA,SCHEMAS,SECOND_MICROSECOND,SEPARATOR,SHOW,SIGNAL,SPATIAL,SQL_BIG_RESULT,SQL_CALC_FOUND_ROWS," +
+            "SQL_SMALL_RESULT,SSL,STARTING,STORED,STRAIGHT_JOIN,TERMINATED,TINYBLOB,TINYINT,TINYTEXT,UNDO,UNLOCK," +
+            "UNSIGNED,USAGE,USE,UTC_DATE,UTC_TIME,UTC_TIMESTAMP,VARBINARY,VARCHARACTER,VIRTUAL,WHILE,WRITE,XOR," +
+            "YEAR_MONTH,ZEROFILL";
+
     @Override
     public String getSQLKeywords() throws SQLException {
-        return "ACCESSIBLE,ADD,ANALYZE,ASC,BEFORE,CASCADE,CHANGE,CONTINUE,DATABASE,DATABASES,DAY_HOUR,DAY_MICROSECOND" +
-                ",DAY_MINUTE,DAY_SECOND,DELAYED,DESC,DISTINCTROW,DIV,DUAL,ELSEIF,EMPTY,ENCLOSED,ESCAPED,EXIT,EXPLAIN," +
-                "FIRST_VALUE,FLOAT4,FLOAT8,FORCE,FULLTEXT,GENERATED,GROUPS,HIGH_PRIORITY,HOUR_MICROSECOND,HOUR_MINUTE," +
-                "HOUR_SECOND,IF,IGNORE,INDEX,INFILE,INT1,INT2,INT3,INT4,INT8,IO_AFTER_GTIDS,IO_BEFORE_GTIDS,ITERATE," +
-                "JSON_TABLE,KEY,KEYS,KILL,LAG,LAST_VALUE,LEAD,LEAVE,LIMIT,LINEAR,LINES,LOAD,LOCK,LONG,LONGBLOB,LONGTEXT," +
-                "LOOP,LOW_PRIORITY,MASTER_BIND,MASTER_SSL_VERIFY_SERVER_CERT,MAXVALUE,MEDIUMBLOB,MEDIUMINT,MEDIUMTEXT," +
-                "MIDDLEINT,MINUTE_MICROSECOND,MINUTE_SECOND,NO_WRITE_TO_BINLOG,NTH_VALUE,NTILE,OPTIMIZE,OPTIMIZER_COSTS," +
-                "OPTION,OPTIONALLY,OUTFILE,PURGE,READ,READ_WRITE,REGEXP,RENAME,REPEAT,REPLACE,REQUIRE,RESIGNAL,RESTRICT," +
-                "RLIKE,SCHEMA,SCHEMAS,SECOND_MICROSECOND,SEPARATOR,SHOW,SIGNAL,SPATIAL,SQL_BIG_RESULT,SQL_CALC_FOUND_ROWS," +
-                "SQL_SMALL_RESULT,SSL,STARTING,STORED,STRAIGHT_JOIN,TERMINATED,TINYBLOB,TINYINT,TINYTEXT,UNDO,UNLOCK," +
-                "UNSIGNED,USAGE,USE,UTC_DATE,UTC_TIME,UTC_TIMESTAMP,VARBINARY,VARCHARACTER,VIRTUAL,WHILE,WRITE,XOR," +
-                "YEAR_MONTH,ZEROFILL";
+        return SQL_KEYWORDS;
     }
 
     @Override
@@ -629,35 +634,37 @@ public class OTSDatabaseMetaData extends WrapperAdapter implements DatabaseMetaD
         return false;
     }
 
+    private static final OTSResultSetMetaData PROCEDURES_META = new OTSResultSetMetaData(
+            Arrays.asList("PROCEDURE_CAT", "PROCEDURE_SCHEM", "PROCEDURE_NAME", "RESERVERD", "RESERVERD", "RESERVERD", "REMARKS", "PROCEDURE_TYPE", "SPECIFIC_NAME"),
+            Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.STRING));
+
     @Override
     public ResultSet getProcedures(String catalog, String schemaPattern, String procedureNamePattern) throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("PROCEDURE_CAT", "PROCEDURE_SCHEM", "PROCEDURE_NAME", "RESERVERD", "RESERVERD", "RESERVERD", "REMARKS", "PROCEDURE_TYPE", "SPECIFIC_NAME"),
-                Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.STRING));
-        return new OTSResultSet(meta, new ArrayList<>());
+        return new OTSResultSet(PROCEDURES_META, Collections.emptyList());
     }
 
+    private static final OTSResultSetMetaData PROCEDURE_COLUMNS_META = new OTSResultSetMetaData(
+            Arrays.asList("STUPID_PLACEHOLDERS", "USELESS_PLACEHOLDER"),
+            Arrays.asList(ColumnType.STRING, ColumnType.STRING));
+
     @Override
     public ResultSet getProcedureColumns(String catalog, String schemaPattern, String procedureNamePattern, String columnNamePattern) throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("STUPID_PLACEHOLDERS", "USELESS_PLACEHOLDER"),
-                Arrays.asList(ColumnType.STRING, ColumnType.STRING));
-        return new OTSResultSet(meta, new ArrayList<>());
+        return new OTSResultSet(PROCEDURE_COLUMNS_META, Collections.emptyList());
     }
 
+    private static final OTSResultSetMetaData TABLES_META = new OTSResultSetMetaData(
+            Arrays.asList("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "TABLE_TYPE", "REMARKS", "TYPE_CAT",
+                    "TYPE_SCHEM", "TYPE_NAME", "SELF_REFERENCING_COL_NAME", "REF_GENERATION"),
+            Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING,
+                    ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING,
+                    ColumnType.STRING));
+
     @Override
     public ResultSet getTables(
             String catalog,
             String schemaPattern,
             String tableNamePattern,
             String[] types) throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "TABLE_TYPE", "REMARKS", "TYPE_CAT",
-                        "TYPE_SCHEM", "TYPE_NAME", "SELF_REFERENCING_COL_NAME", "REF_GENERATION"),
-                Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING,
-                        ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING,
-                        ColumnType.STRING));
-        List<Object[]> rows = new ArrayList<>();
         // check types
         if (types != null) {
             boolean hasTableType = false;
@@ -668,28 +675,39 @@ public class OTSDatabaseMetaData extends WrapperAdapter implements DatabaseMetaD
                 }
             }
             if (!hasTableType) {
-                return new OTSResultSet(meta, rows);
+                return new OTSResultSet(TABLES_META, Collections.emptyList());
             }
         }
+        return new OTSResultSet(TABLES_META, cached(catalog, OTSMetadataCache.literalTable(tableNamePattern),
+                Arrays.<Object>asList("getTables", tableNamePattern), () -> showTables(catalog, tableNamePattern)));
+    }
+
+    private List<Object[]> showTables(String catalog, String tableNamePattern) throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
         // show tables
-        Statement statement = connection.createStatement();
-        if (tableNamePattern == null) {
-            statement.executeQuery(String.format("SHOW TABLES FROM %s",
-                    StringUtils.quoteIdentifier(catalog, quoteId)));
-        } else {
-            statement.executeQuery(String.format("SHOW TABLES FROM %s LIKE %s",
-                    StringUtils.quoteIdentifier(catalog, quoteId),
-                    StringUtils.quoteIdentifier(tableNamePattern, quoteString)));
-        }
-        ResultSet resultSet = statement.getResultSet();
-        while (resultSet.next()) {
-            Object[] row = new Object[10];
-            row[0] = catalog;
-            row[2] = resultSet.getString(1);
-            row[3] = "TABLE";
-            rows.add(row);
+        try (Statement statement = connection.createStatement()) {
+            if (tableNamePattern == null) {
+                statement.executeQuery(String.format("SHOW TABLES FROM %s",
+                        StringUtils.quoteIdentifier(catalog, quoteId)));
+            } else {
+                statement.executeQuery(String.format("SHOW TABLES FROM %s LIKE %s",
+                        StringUtils.quoteIdentifier(catalog, quoteId),
+                        StringUtils.quoteIdentifier(tableNamePattern, quoteString)));
+            }
+            ResultSet resultSet = statement.getResultSet();
+            while (resultSet.next()) {
+                Object[] row = new Object[10];
+                row[0] = catalog;
+                row[2] = resultSet.getString(1);
+                row[3] = "TABLE";
+                rows.add(row);
+            }
         }
-        return new OTSResultSet(meta, rows);
+        return rows;
+    }
+
+    private List<Object[]> cached(String catalog, String table, List<Object> query, OTSMetadataCache.Loader loader) throws SQLException {
+        return OTSMetadataCache.INSTANCE.get(connection.config, catalog, table, query, loader);
     }
 
     @Override
@@ -697,214 +715,257 @@ public class OTSDatabaseMetaData extends WrapperAdapter implements DatabaseMetaD
         return getSchemas(null, null);
     }
 
+    private static final OTSResultSetMetaData SCHEMAS_META = new OTSResultSetMetaData(
+            Arrays.asList("TABLE_SCHEM", "TABLE_CATALOG"),
+            Arrays.asList(ColumnType.STRING, ColumnType.STRING));
+
     @Override
     public ResultSet getSchemas(String catalog, String schemaPattern) throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("TABLE_SCHEM", "TABLE_CATALOG"),
-                Arrays.asList(ColumnType.STRING, ColumnType.STRING));
-        List<Object[]> rows = new ArrayList<>();
-        return new OTSResultSet(meta, rows);
+        return new OTSResultSet(SCHEMAS_META, Collections.emptyList());
     }
 
+    private static final OTSResultSetMetaData CATALOGS_META = new OTSResultSetMetaData(
+            Collections.singletonList("TABLE_CAT"),
+            Collections.singletonList(ColumnType.STRING));
+
     @Override
     public ResultSet getCatalogs() throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Collections.singletonList("TABLE_CAT"),
-                Collections.singletonList(ColumnType.STRING));
         List<Object[]> rows = new ArrayList<>();
         rows.add(new String[]{connection.config.getInstanceName()});
-        return new OTSResultSet(meta, rows);
+        return new OTSResultSet(CATALOGS_META, rows);
     }
 
+    private static final OTSResultSetMetaData TABLE_TYPES_META = new OTSResultSetMetaData(
+            Collections.singletonList("TABLE_TYPE"),
+            Collections.singletonList(ColumnType.STRING));
+    private static final List<Object[]> TABLE_TYPES = Collections.singletonList(new Object[]{"TABLE"});
+
     @Override
     public ResultSet getTableTypes() throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Collections.singletonList("TABLE_TYPE"),
-                Collections.singletonList(ColumnType.STRING));
-        List<Object[]> rows = new ArrayList<>();
-        rows.add(new String[]{"TABLE"});
-        return new OTSResultSet(meta, rows);
+        return new OTSResultSet(TABLE_TYPES_META, TABLE_TYPES);
     }
 
+    private static final OTSResultSetMetaData COLUMNS_META = new OTSResultSetMetaData(
+            Arrays.asList("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "DATA_TYPE", "TYPE_NAME",
+                    "COLUMN_SIZE", "BUFFER_LENGTH", "DECIMAL_DIGITS", "NUM_PERC_RADIX", "NULLABLE", "REMARKS",
+                    "COLUMN_DEF", "SQL_DATA_TYPE", "SQL_DATETIME_SUB", "CHAR_OCTET_LENGTH", "ORDINAL_POSITION",
+                    "IS_NULLABLE", "SCOPE_CATALOG", "SCOPE_SCHEMA", "SCOPE_TABLE", "SOURCE_DATA_TYPE",
+                    "IS_AUTOINCREMENT", "IS_GENERATEDCOLUMN"),
+            Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING,
+                    ColumnType.INTEGER, ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER,
+                    ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.STRING,
+                    ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER,
+                    ColumnType.INTEGER, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING,
+                    ColumnType.STRING, ColumnType.INTEGER, ColumnType.STRING, ColumnType.STRING));
+
     @Override
     public ResultSet getColumns(
             String catalog,
             String schemaPattern,
             String tableNamePattern,
             String columnNamePattern) throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "DATA_TYPE", "TYPE_NAME",
-                        "COLUMN_SIZE", "BUFFER_LENGTH", "DECIMAL_DIGITS", "NUM_PERC_RADIX", "NULLABLE", "REMARKS",
-                        "COLUMN_DEF", "SQL_DATA_TYPE", "SQL_DATETIME_SUB", "CHAR_OCTET_LENGTH", "ORDINAL_POSITION",
-                        "IS_NULLABLE", "SCOPE_CATALOG", "SCOPE_SCHEMA", "SCOPE_TABLE", "SOURCE_DATA_TYPE",
-                        "IS_AUTOINCREMENT", "IS_GENERATEDCOLUMN"),
-                Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING,
-                        ColumnType.INTEGER, ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER,
-                        ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.STRING,
-                        ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER,
-                        ColumnType.INTEGER, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING,
-                        ColumnType.STRING, ColumnType.INTEGER, ColumnType.STRING, ColumnType.STRING));
-        List<Object[]> rows = new ArrayList<>();
-        // show tables
+        return new OTSResultSet(COLUMNS_META, cached(catalog, OTSMetadataCache.literalTable(tableNamePattern),
+                Arrays.<Object>asList("getColumns", tableNamePattern, columnNamePattern),
+                () -> showColumns(catalog, schemaPattern, tableNamePattern, columnNamePattern)));
+    }
+
+    private List<Object[]> showColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern) throws SQLException {
+        // the matching tables, sorted by name because the columns are returned ordered by TABLE_NAME
+        List<String> tableNames = new ArrayList<>();
         ResultSet tables = getTables(catalog, schemaPattern, tableNamePattern, null);
         while (tables.next()) {
-            // show columns
-            String tableName = tables.getString("TABLE_NAME");
-            Statement statement = connection.createStatement();
-            if (columnNamePattern != null) {
-                statement.executeQuery(String.format("SHOW FULL COLUMNS FROM %s FROM %s LIKE %s",
-                        StringUtils.quoteIdentifier(tableName, quoteId),
-                        StringUtils.quoteIdentifier(catalog, quoteId),
-                        StringUtils.quoteIdentifier(columnNamePattern, quoteString)));
-            } else {
-                statement.executeQuery(String.format("SHOW FULL COLUMNS FROM %s FROM %s",
-                        StringUtils.quoteIdentifier(tableName, quoteId),
-                        StringUtils.quoteIdentifier(catalog, quoteId)));
-            }
-            ResultSet resultSet = statement.getResultSet();
-            long position = 1;
-            while (resultSet.next()) {
-                OTSType type = OTSType.getByName(resultSet.getString("Type"));
-                String isNullable = resultSet.getString("Null");
-                Object[] row = new Object[24];
-                row[0] = catalog;
-                row[2] = tableName;
-                row[3] = resultSet.getString("Field");
-                row[4] = (long) type.getJdbcType();
-                row[5] = type.getName();
-                row[6] = type.getPrecision();
-                row[9] = 10L;
-                if (isNullable.equals("YES")) {
-                    row[10] = (long) columnNullable;
-                } else if (isNullable.equals("NO")) {
-                    row[10] = (long) columnNoNulls;
-                } else {
-                    row[10] = (long) columnNullableUnknown;
+            tableNames.add(tables.getString("TABLE_NAME"));
+        }
+        Collections.sort(tableNames);
+        // show columns of several tables at a time, the responses are read in table order
+        List<Object[]> rows = new ArrayList<>();
+        List<CompletableFuture<SQLQueryResponse>> requests = new ArrayList<>(tableNames.size());
+        try (OTSStatement statement = connection.createStatement()) {
+            for (int i = 0; i < tableNames.size(); i++) {
+                while (requests.size() < tableNames.size() && requests.size() - i < MAX_CONCURRENT_METADATA_REQUESTS) {
+                    CompletableFuture<SQLQueryResponse> request = statement.sendRequest(showColumnsQuery(
+                            catalog, tableNames.get(requests.size()), columnNamePattern));
+                    statement.track(request);
+                    requests.add(request);
+                }
+                SQLQueryResponse response = statement.waitForFuture(requests.get(i));
+                // closed right away, the rows are copied and its memory is released
+                try (ResultSet resultSet = new OTSResultSet(statement, response.getSQLResultSet(), 0, ResultSet.TYPE_FORWARD_ONLY)) {
+                    long position = 1;
+                    while (resultSet.next()) {
+                        OTSTypeDescriptor type = OTSType.parse(resultSet.getString("Type"));
+                        String isNullable = resultSet.getString("Null");
+                        Object[] row = new Object[24];
+                        row[0] = catalog;
+                        row[2] = tableNames.get(i);
+                        row[3] = resultSet.getString("Field");
+                        row[4] = (long) type.getJdbcType();
+                        row[5] = type.getName();
+                        row[6] = type.getPrecision();
+                        row[9] = 10L;
+                        if (isNullable.equals("YES")) {
+                            row[10] = (long) columnNullable;
+                        } else if (isNullable.equals("NO")) {
+                            row[10] = (long) columnNoNulls;
+                        } else {
+                            row[10] = (long) columnNullableUnknown;
+                        }
+                        row[16] = position++;
+                        row[17] = isNullable;
+                        row[22] = "NO";
+                        row[23] = "NO";
+                        rows.add(row);
+                    }
                 }
-                row[16] = position++;
-                row[17] = isNullable;
-                row[22] = "NO";
-                row[23] = "NO";
-                rows.add(row);
             }
+        } finally {
+            for (CompletableFuture<SQLQueryResponse> request : requests) {
+                request.cancel(true);
+            }
+        }
+        return rows;
+    }
+
+    private static String showColumnsQuery(String catalog, String tableName, String columnNamePattern) {
+        if (columnNamePattern != null) {
+            return String.format("SHOW FULL COLUMNS FROM %s FROM %s LIKE %s",
+                    StringUtils.quoteIdentifier(tableName, quoteId),
+                    StringUtils.quoteIdentifier(catalog, quoteId),
+                    StringUtils.quoteIdentifier(columnNamePattern, quoteString));
         }
-        return new OTSResultSet(meta, rows);
+        return String.format("SHOW FULL COLUMNS FROM %s FROM %s",
+                StringUtils.quoteIdentifier(tableName, quoteId),
+                StringUtils.quoteIdentifier(catalog, quoteId));
     }
 
+    private static final OTSResultSetMetaData COLUMN_PRIVILEGES_META = new OTSResultSetMetaData(
+            Arrays.asList("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "GRANTOR", "GRANTEE", "PRIVILEGE", "IS_GRANTABLE"),
+            Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING)
+    );
+
     @Override
     public ResultSet getColumnPrivileges(String catalog, String schema, String table, String columnNamePattern) throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "GRANTOR", "GRANTEE", "PRIVILEGE", "IS_GRANTABLE"),
-                Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING)
-        );
-        return new OTSResultSet(meta, new ArrayList<>());
+        return new OTSResultSet(COLUMN_PRIVILEGES_META, Collections.emptyList());
     }
 
+    private static final OTSResultSetMetaData TABLE_PRIVILEGES_META = new OTSResultSetMetaData(
+            Arrays.asList("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "GRANTOR", "GRANTEE", "PRIVILEGE", "IS_GRANTABLE"),
+            Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING)
+    );
+
     @Override
     public ResultSet getTablePrivileges(String catalog, String schemaPattern, String tableNamePattern) throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "GRANTOR", "GRANTEE", "PRIVILEGE", "IS_GRANTABLE"),
-                Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING)
-        );
-        return new OTSResultSet(meta, new ArrayList<>());
+        return new OTSResultSet(TABLE_PRIVILEGES_META, Collections.emptyList());
     }
 
+    private static final OTSResultSetMetaData BEST_ROW_IDENTIFIER_META = new OTSResultSetMetaData(
+            Arrays.asList("SCOPE", "COLUMN_NAME", "DATA_TYPE", "TYPE_NAME", "COLUMN_SIZE", "BUFFER_LENGTH", "DECIMAL_DIGITS", "PSEUDO_COLUMN"),
+            Arrays.asList(ColumnType.INTEGER, ColumnType.STRING, ColumnType.INTEGER, ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER)
+    );
+
     @Override
     public ResultSet getBestRowIdentifier(String catalog, String schema, String table, int scope, boolean nullable) throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("SCOPE", "COLUMN_NAME", "DATA_TYPE", "TYPE_NAME", "COLUMN_SIZE", "BUFFER_LENGTH", "DECIMAL_DIGITS", "PSEUDO_COLUMN"),
-                Arrays.asList(ColumnType.INTEGER, ColumnType.STRING, ColumnType.INTEGER, ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER)
-        );
-        return new OTSResultSet(meta, new ArrayList<>());
+        return new OTSResultSet(BEST_ROW_IDENTIFIER_META, Collections.emptyList());
     }
 
+    private static final OTSResultSetMetaData VERSION_COLUMNS_META = new OTSResultSetMetaData(
+            Arrays.asList("SCOPE", "COLUMN_NAME", "DATA_TYPE", "TYPE_NAME", "COLUMN_SIZE", "BUFFER_LENGTH", "DECIMAL_DIGITS", "PSEUDO_COLUMN"),
+            Arrays.asList(ColumnType.INTEGER, ColumnType.STRING, ColumnType.INTEGER, ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER)
+    );
+
     @Override
     public ResultSet getVersionColumns(String catalog, String schema, String table) throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("SCOPE", "COLUMN_NAME", "DATA_TYPE", "TYPE_NAME", "COLUMN_SIZE", "BUFFER_LENGTH", "DECIMAL_DIGITS", "PSEUDO_COLUMN"),
-                Arrays.asList(ColumnType.INTEGER, ColumnType.STRING, ColumnType.INTEGER, ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER)
-        );
-        return new OTSResultSet(meta, new ArrayList<>());
+        return new OTSResultSet(VERSION_COLUMNS_META, Collections.emptyList());
     }
 
+    private static final OTSResultSetMetaData PRIMARY_KEYS_META = new OTSResultSetMetaData(
+            Arrays.asList("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "KEY_SEQ", "PK_NAME"),
+            Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.STRING));
+
     @Override
     public ResultSet getPrimaryKeys(String catalog, String schema, String table) throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "KEY_SEQ", "PK_NAME"),
-                Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.STRING));
+        return new OTSResultSet(PRIMARY_KEYS_META, cached(catalog, table, Arrays.<Object>asList("getPrimaryKeys"), () -> showKeys(catalog, table)));
+    }
+
+    private List<Object[]> showKeys(String catalog, String table) throws SQLException {
         List<Object[]> rows = new ArrayList<>();
         // show keys
-        Statement statement = connection.createStatement();
-        statement.executeQuery(String.format("SHOW KEYS FROM %s FROM %s",
-                StringUtils.quoteIdentifier(table, quoteId),
-                StringUtils.quoteIdentifier(catalog, quoteId)));
-        ResultSet resultSet = statement.getResultSet();
-        while (resultSet.next()) {
-            String keyName = resultSet.getString("Key_name");
-            if (!keyName.equals("PRIMARY")) {
-                continue;
+        try (Statement statement = connection.createStatement()) {
+            statement.executeQuery(String.format("SHOW KEYS FROM %s FROM %s",
+                    StringUtils.quoteIdentifier(table, quoteId),
+                    StringUtils.quoteIdentifier(catalog, quoteId)));
+            ResultSet resultSet = statement.getResultSet();
+            while (resultSet.next()) {
+                String keyName = resultSet.getString("Key_name");
+                if (!keyName.equals("PRIMARY")) {
+                    continue;
+                }
+                Object[] row = new Object[6];
+                row[0] = catalog;
+                row[2] = resultSet.getString("Table");
+                row[3] = resultSet.getString("Column_name");
+                row[4] = resultSet.getLong("Seq_in_index");
+                row[5] = keyName;
+                rows.add(row);
             }
-            Object[] row = new Object[6];
-            row[0] = catalog;
-            row[2] = resultSet.getString("Table");
-            row[3] = resultSet.getString("Column_name");
-            row[4] = resultSet.getLong("Seq_in_index");
-            row[5] = keyName;
-            rows.add(row);
         }
-        return new OTSResultSet(meta, rows);
+        return rows;
     }
 
+    private static final OTSResultSetMetaData IMPORTED_KEYS_META = new OTSResultSetMetaData(
+            Arrays.asList("PKTABLE_CAT", "PKTABLE_SCHEM", "PKTABLE_NAME", "PKCOLUMN_NAME", "FKTABLE_CAT",
+                    "FKTABLE_SCHEM", "FKTABLE_NAME", "FKCOLUMN_NAME", "KEY_SEQ", "UPDATE_RULE",
+                    "DELETE_RULE", "FK_NAME", "PK_NAME", "DEFERRABILITY"),
+            Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING,
+                    ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER,
+                    ColumnType.INTEGER, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER)
+    );
+
     @Override
     public ResultSet getImportedKeys(String catalog, String schema, String table) throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("PKTABLE_CAT", "PKTABLE_SCHEM", "PKTABLE_NAME", "PKCOLUMN_NAME", "FKTABLE_CAT",
-                        "FKTABLE_SCHEM", "FKTABLE_NAME", "FKCOLUMN_NAME", "KEY_SEQ", "UPDATE_RULE",
-                        "DELETE_RULE", "FK_NAME", "PK_NAME", "DEFERRABILITY"),
-                Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING,
-                        ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER,
-                        ColumnType.INTEGER, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER)
-        );
-        return new OTSResultSet(meta, new ArrayList<>());
+        return new OTSResultSet(IMPORTED_KEYS_META, Collections.emptyList());
     }
 
+    private static final OTSResultSetMetaData EXPORTED_KEYS_META = new OTSResultSetMetaData(
+            Arrays.asList("PKTABLE_CAT", "PKTABLE_SCHEM", "PKTABLE_NAME", "PKCOLUMN_NAME", "FKTABLE_CAT",
+                    "FKTABLE_SCHEM", "FKTABLE_NAME", "FKCOLUMN_NAME", "KEY_SEQ", "UPDATE_RULE",
+                    "DELETE_RULE", "FK_NAME", "PK_NAME", "DEFERRABILITY"),
+            Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING,
+                    ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER,
+                    ColumnType.INTEGER, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER)
+    );
+
     @Override
     public ResultSet getExportedKeys(String catalog, String schema, String table) throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("PKTABLE_CAT", "PKTABLE_SCHEM", "PKTABLE_NAME", "PKCOLUMN_NAME", "FKTABLE_CAT",
-                        "FKTABLE_SCHEM", "FKTABLE_NAME", "FKCOLUMN_NAME", "KEY_SEQ", "UPDATE_RULE",
-                        "DELETE_RULE", "FK_NAME", "PK_NAME", "DEFERRABILITY"),
-                Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING,
-                        ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER,
-                        ColumnType.INTEGER, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER)
-        );
-        return new OTSResultSet(meta, new ArrayList<>());
+        return new OTSResultSet(EXPORTED_KEYS_META, Collections.emptyList());
     }
 
+    private static final OTSResultSetMetaData CROSS_REFERENCE_META = new OTSResultSetMetaData(
+            Arrays.asList("PKTABLE_CAT", "PKTABLE_SCHEM", "PKTABLE_NAME", "PKCOLUMN_NAME", "FKTABLE_CAT",
+                    "FKTABLE_SCHEM", "FKTABLE_NAME", "FKCOLUMN_NAME", "KEY_SEQ", "UPDATE_RULE",
+                    "DELETE_RULE", "FK_NAME", "PK_NAME", "DEFERRABILITY"),
+            Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING,
+                    ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER,
+                    ColumnType.INTEGER, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER)
+    );
+
     @Override
     public ResultSet getCrossReference(String parentCatalog, String parentSchema, String parentTable, String foreignCatalog, String foreignSchema, String foreignTable) throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("PKTABLE_CAT", "PKTABLE_SCHEM", "PKTABLE_NAME", "PKCOLUMN_NAME", "FKTABLE_CAT",
-                        "FKTABLE_SCHEM", "FKTABLE_NAME", "FKCOLUMN_NAME", "KEY_SEQ", "UPDATE_RULE",
-                        "DELETE_RULE", "FK_NAME", "PK_NAME", "DEFERRABILITY"),
-                Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING,
-                        ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER,
-                        ColumnType.INTEGER, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER)
-        );
-        return new OTSResultSet(meta, new ArrayList<>());
+        return new OTSResultSet(CROSS_REFERENCE_META, Collections.emptyList());
     }
 
-    @Override
-    public ResultSet getTypeInfo() throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("TYPE_NAME", "DATA_TYPE", "PRECISION", "LITERAL_PREFIX", "LITERAL_SUFFIX", "CREATE_PARAMS",
-                        "NULLABLE", "CASE_SENSITIVE", "SEARCHABLE", "UNSIGNED_ATTRIBUTE", "FIXED_PREC_SCALE",
-                        "AUTO_INCREMENT", "LOCAL_TYPE_NAME", "MINIMUM_SCALE", "MAXIMUM_SCALE", "SQL_DATA_TYPE",
-                        "SQL_DATETIME_SUB", "NUM_PREC_RADIX"),
-                Arrays.asList(ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.STRING,
-                        ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.BOOLEAN, ColumnType.INTEGER,
-                        ColumnType.BOOLEAN, ColumnType.BOOLEAN, ColumnType.BOOLEAN, ColumnType.STRING, ColumnType.INTEGER,
-                        ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER));
+    private static final OTSResultSetMetaData TYPE_INFO_META = new OTSResultSetMetaData(
+            Arrays.asList("TYPE_NAME", "DATA_TYPE", "PRECISION", "LITERAL_PREFIX", "LITERAL_SUFFIX", "CREATE_PARAMS",
+                    "NULLABLE", "CASE_SENSITIVE", "SEARCHABLE", "UNSIGNED_ATTRIBUTE", "FIXED_PREC_SCALE",
+                    "AUTO_INCREMENT", "LOCAL_TYPE_NAME", "MINIMUM_SCALE", "MAXIMUM_SCALE", "SQL_DATA_TYPE",
+                    "SQL_DATETIME_SUB", "NUM_PREC_RADIX"),
+            Arrays.asList(ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.STRING,
+                    ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.BOOLEAN, ColumnType.INTEGER,
+                    ColumnType.BOOLEAN, ColumnType.BOOLEAN, ColumnType.BOOLEAN, ColumnType.STRING, ColumnType.INTEGER,
+                    ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER));
+    private static final List<Object[]> TYPE_INFO = typeInfo();
+
+    private static List<Object[]> typeInfo() {
         List<Object[]> rows = new ArrayList<>();
         OTSType[] types = new OTSType[]{
                 OTSType.BIGINT, OTSType.DOUBLE, OTSType.BOOLEAN, OTSType.VARCHAR,
@@ -930,53 +991,64 @@ public class OTSDatabaseMetaData extends WrapperAdapter implements DatabaseMetaD
             row[17] = 10;
             rows.add(row);
         }
-        return new OTSResultSet(meta, rows);
+        return Collections.unmodifiableList(rows);
     }
 
+    @Override
+    public ResultSet getTypeInfo() throws SQLException {
+        return new OTSResultSet(TYPE_INFO_META, TYPE_INFO);
+    }
+
+    private static final OTSResultSetMetaData INDEX_INFO_META = new OTSResultSetMetaData(
+            Arrays.asList("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "NON_UNIQUE", "INDEX_QUALIFIER", "INDEX_NAME",
+                    "TYPE", "ORDINAL_POSITION", "COLUMN_NAME", "ASC_OR_DESC", "CARDINALITY", "PAGES", "FILTER_CONDITION"),
+            Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.BOOLEAN,
+                    ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.STRING,
+                    ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.STRING));
+
     @Override
     public ResultSet getIndexInfo(String catalog, String schema, String table, boolean unique, boolean approximate) throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "NON_UNIQUE", "INDEX_QUALIFIER", "INDEX_NAME",
-                        "TYPE", "ORDINAL_POSITION", "COLUMN_NAME", "ASC_OR_DESC", "CARDINALITY", "PAGES", "FILTER_CONDITION"),
-                Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.BOOLEAN,
-                        ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.STRING,
-                        ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.STRING));
+        return new OTSResultSet(INDEX_INFO_META, cached(catalog, table, Arrays.<Object>asList("getIndexInfo"), () -> showIndex(catalog, table)));
+    }
+
+    private List<Object[]> showIndex(String catalog, String table) throws SQLException {
         List<Object[]> rows = new ArrayList<>();
         // show index
-        Statement statement = connection.createStatement();
-        statement.executeQuery(String.format("SHOW INDEX IN %s FROM %s",
-                StringUtils.quoteIdentifier(table, quoteId),
-                StringUtils.quoteIdentifier(catalog, quoteId)));
-        ResultSet resultSet = statement.getResultSet();
-        while (resultSet.next()) {
-            String isDefinedColumn = resultSet.getString("Is_defined_column");
-            if (isDefinedColumn != null && isDefinedColumn.equals("YES")) {
-                continue;
+        try (Statement statement = connection.createStatement()) {
+            statement.executeQuery(String.format("SHOW INDEX IN %s FROM %s",
+                    StringUtils.quoteIdentifier(table, quoteId),
+                    StringUtils.quoteIdentifier(catalog, quoteId)));
+            ResultSet resultSet = statement.getResultSet();
+            while (resultSet.next()) {
+                String isDefinedColumn = resultSet.getString("Is_defined_column");
+                if (isDefinedColumn != null && isDefinedColumn.equals("YES")) {
+                    continue;
+                }
+                Object[] row = new Object[13];
+                row[0] = catalog;
+                row[2] = table;
+                row[3] = resultSet.getBoolean("Non_unique");
+                row[5] = resultSet.getString("Key_name");
+                row[6] = (long) tableIndexOther;
+                row[7] = resultSet.getLong("Seq_in_index");
+                row[8] = resultSet.getString("Column_name");
+                row[9] = "A";
+                row[10] = resultSet.getLong("Cardinality");
+                row[11] = 0L;
+                rows.add(row);
             }
-            Object[] row = new Object[13];
-            row[0] = catalog;
-            row[2] = table;
-            row[3] = resultSet.getBoolean("Non_unique");
-            row[5] = resultSet.getString("Key_name");
-            row[6] = (long) tableIndexOther;
-            row[7] = resultSet.getLong("Seq_in_index");
-            row[8] = resultSet.getString("Column_name");
-            row[9] = "A";
-            row[10] = resultSet.getLong("Cardinality");
-            row[11] = 0L;
-            rows.add(row);
         }
-        return new OTSResultSet(meta, rows);
+        return rows;
     }
 
     @Override
     public boolean supportsResultSetType(int type) throws SQLException {
-        return type == ResultSet.TYPE_FORWARD_ONLY;
+        return type == ResultSet.TYPE_FORWARD_ONLY || type == ResultSet.TYPE_SCROLL_INSENSITIVE;
     }
 
     @Override
     public boolean supportsResultSetConcurrency(int type, int concurrency) throws SQLException {
-        return false;
+        return supportsResultSetType(type) && concurrency == ResultSet.CONCUR_READ_ONLY;
     }
 
     @Override
@@ -1029,13 +1101,14 @@ public class OTSDatabaseMetaData extends WrapperAdapter implements DatabaseMetaD
         return false;
     }
 
+    private static final OTSResultSetMetaData UDTS_META = new OTSResultSetMetaData(
+            Arrays.asList("TYPE_CAT", "TYPE_SCHEM", "TYPE_NAME", "CLASS_NAME", "DATA_TYPE", "REMARKS", "BASE_TYPE"),
+            Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.STRING, ColumnType.INTEGER)
+    );
+
     @Override
     public ResultSet getUDTs(String catalog, String schemaPattern, String typeNamePattern, int[] types) throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("TYPE_CAT", "TYPE_SCHEM", "TYPE_NAME", "CLASS_NAME", "DATA_TYPE", "REMARKS", "BASE_TYPE"),
-                Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.STRING, ColumnType.INTEGER)
-        );
-        return new OTSResultSet(meta, new ArrayList<>());
+        return new OTSResultSet(UDTS_META, Collections.emptyList());
     }
 
     @Override
@@ -1063,37 +1136,40 @@ public class OTSDatabaseMetaData extends WrapperAdapter implements DatabaseMetaD
         return false;
     }
 
+    private static final OTSResultSetMetaData SUPER_TYPES_META = new OTSResultSetMetaData(
+            Arrays.asList("TYPE_CAT", "TYPE_SCHEM", "TYPE_NAME", "SUPERTYPE_CAT", "SUPERTYPE_SCHEM", "SUPERTYPE_NAME"),
+            Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING)
+    );
+
     @Override
     public ResultSet getSuperTypes(String catalog, String schemaPattern, String typeNamePattern) throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("TYPE_CAT", "TYPE_SCHEM", "TYPE_NAME", "SUPERTYPE_CAT", "SUPERTYPE_SCHEM", "SUPERTYPE_NAME"),
-                Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING)
-        );
-        return new OTSResultSet(meta, new ArrayList<>());
+        return new OTSResultSet(SUPER_TYPES_META, Collections.emptyList());
     }
 
+    private static final OTSResultSetMetaData SUPER_TABLES_META = new OTSResultSetMetaData(
+            Arrays.asList("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "SUPERTABLE_NAME"),
+            Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING)
+    );
+
     @Override
     public ResultSet getSuperTables(String catalog, String schemaPattern, String tableNamePattern) throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "SUPERTABLE_NAME"),
-                Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING)
-        );
-        return new OTSResultSet(meta, new ArrayList<>());
+        return new OTSResultSet(SUPER_TABLES_META, Collections.emptyList());
     }
 
+    private static final OTSResultSetMetaData ATTRIBUTES_META = new OTSResultSetMetaData(
+            Arrays.asList("TYPE_CAT", "TYPE_SCHEM", "TYPE_NAME", "ATTR_NAME", "DATA_TYPE", "ATTR_TYPE_NAME",
+                    "ATTR_SIZE", "DECIMAL_DIGITS", "NUM_PREC_RADIX", "NULLABLE", "REMARKS", "ATTR_DEF",
+                    "SQL_DATA_TYPE", "SQL_DATETIME_SUB", "CHAR_OCTET_LENGTH", "ORDINAL_POSITION", "IS_NULLABLE",
+                    "SCOPE_CATALOG", "SCOPE_SCHEMA", "SCOPE_TABLE", "SOURCE_DATA_TYPE"),
+            Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER,
+                    ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER,
+                    ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER,
+                    ColumnType.INTEGER, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER)
+    );
+
     @Override
     public ResultSet getAttributes(String catalog, String schemaPattern, String typeNamePattern, String attributeNamePattern) throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("TYPE_CAT", "TYPE_SCHEM", "TYPE_NAME", "ATTR_NAME", "DATA_TYPE", "ATTR_TYPE_NAME",
-                        "ATTR_SIZE", "DECIMAL_DIGITS", "NUM_PREC_RADIX", "NULLABLE", "REMARKS", "ATTR_DEF",
-                        "SQL_DATA_TYPE", "SQL_DATETIME_SUB", "CHAR_OCTET_LENGTH", "ORDINAL_POSITION", "IS_NULLABLE",
-                        "SCOPE_CATALOG", "SCOPE_SCHEMA", "SCOPE_TABLE", "SOURCE_DATA_TYPE"),
-                Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER,
-                        ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER,
-                        ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER,
-                        ColumnType.INTEGER, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER)
-        );
-        return new OTSResultSet(meta, new ArrayList<>());
+        return new OTSResultSet(ATTRIBUTES_META, Collections.emptyList());
     }
 
     @Override
@@ -1156,48 +1232,52 @@ public class OTSDatabaseMetaData extends WrapperAdapter implements DatabaseMetaD
         return false;
     }
 
+    private static final OTSResultSetMetaData CLIENT_INFO_PROPERTIES_META = new OTSResultSetMetaData(
+            Arrays.asList("NAME", "MAX_LEN", "DEFAULT_VALUE", "DESCRIPTION"),
+            Arrays.asList(ColumnType.STRING, ColumnType.INTEGER, ColumnType.STRING, ColumnType.STRING)
+    );
+
     @Override
     public ResultSet getClientInfoProperties() throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("NAME", "MAX_LEN", "DEFAULT_VALUE", "DESCRIPTION"),
-                Arrays.asList(ColumnType.STRING, ColumnType.INTEGER, ColumnType.STRING, ColumnType.STRING)
-        );
-        return new OTSResultSet(meta, new ArrayList<>());
+        return new OTSResultSet(CLIENT_INFO_PROPERTIES_META, Collections.emptyList());
     }
 
+    private static final OTSResultSetMetaData FUNCTIONS_META = new OTSResultSetMetaData(
+            Arrays.asList("FUNCTION_CAT", "FUNCTION_SCHEM", "FUNCTION_NAME", "REMARKS", "FUNCTION_TYPE", "SPECIFIC_NAME"),
+            Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.STRING)
+    );
+
     @Override
     public ResultSet getFunctions(String catalog, String schemaPattern, String functionNamePattern) throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("FUNCTION_CAT", "FUNCTION_SCHEM", "FUNCTION_NAME", "REMARKS", "FUNCTION_TYPE", "SPECIFIC_NAME"),
-                Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.STRING)
-        );
-        return new OTSResultSet(meta, new ArrayList<>());
+        return new OTSResultSet(FUNCTIONS_META, Collections.emptyList());
     }
 
+    private static final OTSResultSetMetaData FUNCTION_COLUMNS_META = new OTSResultSetMetaData(
+            Arrays.asList("FUNCTION_CAT", "FUNCTION_SCHEM", "FUNCTION_NAME", "COLUMN_NAME", "COLUMN_TYPE",
+                    "DATA_TYPE", "TYPE_NAME", "PRECISION", "LENGTH", "SCALE", "RADIX", "NULLABLE", "REMARKS",
+                    "CHAR_OCTET_LENGTH", "ORDINAL_POSITION", "IS_NULLABLE", "SPECIFIC_NAME"),
+            Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING,
+                    ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.STRING, ColumnType.INTEGER,
+                    ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER,
+                    ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.STRING, ColumnType.STRING)
+    );
+
     @Override
     public ResultSet getFunctionColumns(String catalog, String schemaPattern, String functionNamePattern, String columnNamePattern) throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("FUNCTION_CAT", "FUNCTION_SCHEM", "FUNCTION_NAME", "COLUMN_NAME", "COLUMN_TYPE",
-                        "DATA_TYPE", "TYPE_NAME", "PRECISION", "LENGTH", "SCALE", "RADIX", "NULLABLE", "REMARKS",
-                        "CHAR_OCTET_LENGTH", "ORDINAL_POSITION", "IS_NULLABLE", "SPECIFIC_NAME"),
-                Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING,
-                        ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.STRING, ColumnType.INTEGER,
-                        ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER,
-                        ColumnType.STRING, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.STRING, ColumnType.STRING)
-        );
-        return new OTSResultSet(meta, new ArrayList<>());
+        return new OTSResultSet(FUNCTION_COLUMNS_META, Collections.emptyList());
     }
 
+    private static final OTSResultSetMetaData PSEUDO_COLUMNS_META = new OTSResultSetMetaData(
+            Arrays.asList("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "DATA_TYPE", "COLUMN_SIZE",
+                    "DECIMAL_DIGITS", "NUM_PREC_RADIX", "COLUMN_USAGE", "REMARKS", "CHAR_OCTET_LENGTH", "IS_NULLABLE"),
+            Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING,
+                    ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER,
+                    ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.STRING)
+    );
+
     @Override
     public ResultSet getPseudoColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern) throws SQLException {
-        OTSResultSetMetaData meta = new OTSResultSetMetaData(
-                Arrays.asList("TABLE_CAT", "TABLE_SCHEM", "TABLE_NAME", "COLUMN_NAME", "DATA_TYPE", "COLUMN_SIZE",
-                        "DECIMAL_DIGITS", "NUM_PREC_RADIX", "COLUMN_USAGE", "REMARKS", "CHAR_OCTET_LENGTH", "IS_NULLABLE"),
-                Arrays.asList(ColumnType.STRING, ColumnType.STRING, ColumnType.STRING, ColumnType.STRING,
-                        ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER, ColumnType.INTEGER,
-                        ColumnType.STRING, ColumnType.STRING, ColumnType.INTEGER, ColumnType.STRING)
-        );
-        return new OTSResultSet(meta, new ArrayList<>());
+        return new OTSResultSet(PSEUDO_COLUMNS_META, Collections.emptyList());
     }
 
     @Override
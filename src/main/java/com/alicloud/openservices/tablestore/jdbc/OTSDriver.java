@@ -16,6 +16,9 @@ public class OTSDriver implements Driver {
     static final int OTS_DRIVER_MINOR_VERSION = 17;
     static final String OTS_DRIVER_VERSION = "5.17.0";
 
+    private static volatile long maxResultSetMemoryInBytes = 0;
+    static final OTSMemoryTracker RESULT_SET_MEMORY = new OTSMemoryTracker(null, () -> maxResultSetMemoryInBytes);
+
     static {
         try {
             DriverManager.registerDriver(new OTSDriver());
@@ -60,6 +63,16 @@ public class OTSDriver implements Driver {
         };
     }
 
+    // bytes held by the materialized result sets of all connections
+    public static long getResultSetMemoryInBytes() {
+        return RESULT_SET_MEMORY.getUsed();
+    }
+
+    // shared by all connections of the jvm, 0 means unlimited
+    public static void setMaxResultSetMemoryInBytes(long bytes) {
+        maxResultSetMemoryInBytes = bytes;
+    }
+
     @Override
     public int getMajorVersion() {
         return OTS_DRIVER_MAJOR_VERSION;
@@ -0,0 +1,144 @@
+package com.alicloud.openservices.tablestore.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// writes bound parameter values as SQL literals in a single pass over the value
+final class OTSLiteralEncoder {
+
+    private static final char QUOTE = '\'';
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private OTSLiteralEncoder() {
+    }
+
+    static void append(StringBuilder builder, Object x) throws SQLException {
+        if (x == null) {
+            builder.append("NULL");
+        } else if (x instanceof Long || x instanceof Integer || x instanceof Short || x instanceof Byte) {
+            builder.append(((Number) x).longValue());
+        } else if (x instanceof Double || x instanceof Float || x instanceof Boolean) {
+            builder.append(x);
+        } else if (x instanceof BigDecimal) {
+            builder.append(((BigDecimal) x).toPlainString());
+        } else if (x instanceof String) {
+            appendString(builder, (String) x);
+        } else if (x instanceof byte[]) {
+            appendBinary(builder, (byte[]) x);
+        } else if (x instanceof Timestamp) {
+            appendTimestamp(builder, (Timestamp) x);
+        } else if (x instanceof Time) {
+            appendTime(builder, (Time) x);
+        } else if (x instanceof Date) {
+            appendDate(builder, (Date) x);
+        } else {
+            throw new SQLException("unrecognized Java class: " + x.getClass().getName());
+        }
+    }
+
+    // an upper bound for most values, the builder still grows for strings with many escaped characters
+    static int estimateLength(Object x) {
+        if (x == null) {
+            return 4;
+        } else if (x instanceof String) {
+            return ((String) x).length() + 2;
+        } else if (x instanceof byte[]) {
+            return ((byte[]) x).length * 2 + 3;
+        }
+        return 32;
+    }
+
+    static void appendString(StringBuilder builder, String value) {
+        builder.append(QUOTE);
+        int beginIndex = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String escaped = escape(value.charAt(i));
+            if (escaped != null) {
+                builder.append(value, beginIndex, i).append(escaped);
+                beginIndex = i + 1;
+            }
+        }
+        builder.append(value, beginIndex, value.length()).append(QUOTE);
+    }
+
+    // the dialect reads backslash escapes in literals, so they are escaped as MySQL does besides the quote
+    private static String escape(char c) {
+        switch (c) {
+            case QUOTE:
+                return "''";
+            case '\\':
+                return "\\\\";
+            case '\0':
+                return "\\0";
+            case '\n':
+                return "\\n";
+            case '\r':
+                return "\\r";
+            case '\u001a':
+                return "\\Z";
+            default:
+                return null;
+        }
+    }
+
+    static void appendBinary(StringBuilder builder, byte[] value) {
+        builder.append("x'");
+        for (byte b : value) {
+            builder.append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+        }
+        builder.append(QUOTE);
+    }
+
+    // seconds since the epoch, with the milliseconds as a fraction when there are any
+    static void appendTimestamp(StringBuilder builder, Timestamp value) {
+        long millis = value.getTime();
+        builder.append("FROM_UNIXTIME(");
+        if (millis < 0) {
+            builder.append('-');
+        }
+        long seconds = Math.abs(millis / 1000);
+        int fraction = (int) Math.abs(millis % 1000);
+        builder.append(seconds);
+        if (fraction != 0) {
+            builder.append('.');
+            appendPadded(builder, fraction, 3);
+        }
+        builder.append(')');
+    }
+
+    static void appendTime(StringBuilder builder, Time value) {
+        LocalTime time = value.toLocalTime();
+        builder.append("TIME('");
+        appendPadded(builder, time.getHour(), 2);
+        builder.append(':');
+        appendPadded(builder, time.getMinute(), 2);
+        builder.append(':');
+        appendPadded(builder, time.getSecond(), 2);
+        builder.append("')");
+    }
+
+    static void appendDate(StringBuilder builder, Date value) {
+        LocalDate date = value.toLocalDate();
+        builder.append("DATE('");
+        appendPadded(builder, date.getYear(), 4);
+        builder.append('-');
+        appendPadded(builder, date.getMonthValue(), 2);
+        builder.append('-');
+        appendPadded(builder, date.getDayOfMonth(), 2);
+        builder.append("')");
+    }
+
+    private static void appendPadded(StringBuilder builder, int value, int width) {
+        for (int bound = 10, i = 1; i < width; i++, bound *= 10) {
+            if (value >= 0 && value < bound) {
+                builder.append('0');
+            }
+        }
+        builder.append(value);
+    }
+}
@@ -0,0 +1,49 @@
+package com.alicloud.openservices.tablestore.jdbc;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// bytes held by materialized result sets, a connection reports to the driver-wide tracker
+class OTSMemoryTracker {
+
+    private final OTSMemoryTracker parent;
+    private final LongSupplier limit;
+    private final AtomicLong used = new AtomicLong();
+
+    OTSMemoryTracker(OTSMemoryTracker parent, LongSupplier limit) {
+        this.parent = parent;
+        this.limit = limit;
+    }
+
+    // nothing is reserved when this or a parent limit would be exceeded, a limit of 0 means unlimited
+    boolean tryReserve(long bytes) {
+        long max = limit.getAsLong();
+        long current;
+        do {
+            current = used.get();
+            if (max > 0 && current + bytes > max) {
+                return false;
+            }
+        } while (!used.compareAndSet(current, current + bytes));
+        if (parent != null && !parent.tryReserve(bytes)) {
+            used.addAndGet(-bytes);
+            return false;
+        }
+        return true;
+    }
+
+    void release(long bytes) {
+        used.addAndGet(-bytes);
+        if (parent != null) {
+            parent.release(bytes);
+        }
+    }
+
+    long getUsed() {
+        return used.get();
+    }
+
+    long getLimit() {
+        return limit.getAsLong();
+    }
+}
@@ -0,0 +1,452 @@
+package com.alicloud.openservices.tablestore.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// rows of metadata queries shared by all connections. an entry is served while it is younger than the cache time of
+// the reading connection, and dropped when DDL runs on its table. entries of table lists and name patterns have no
+// table and are dropped by any DDL on their endpoint. entries are keyed by the catalog callers pass, so DDL drops
+// them whatever catalog they were read under.
+// with a snapshot file the entries are also written to disk. entries read back from it are served at once whatever
+// their age, and reloaded in the background on first use.
+class OTSMetadataCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OTSMetadataCache.class);
+
+    static final OTSMetadataCache INSTANCE = new OTSMetadataCache(1024);
+
+    private static final int SNAPSHOT_MAGIC = 0x4f54534d;
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte LONG = 2;
+    private static final byte INTEGER = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte BOOLEAN = 5;
+
+    private static final ExecutorService BACKGROUND = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "ots-jdbc-metadata");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    interface Loader {
+        List<Object[]> load() throws SQLException;
+    }
+
+    private static class Entry {
+        private final String endPoint;
+        private final String instance;
+        private final String table;
+        private final List<Object[]> rows;
+        private final long loadTime;
+        private final String snapshotFile;
+        // read from the snapshot file and not reloaded yet
+        private final boolean restored;
+        private boolean refreshing = false;
+
+        Entry(String endPoint, String instance, String table, List<Object[]> rows, long loadTime, String snapshotFile, boolean restored) {
+            this.endPoint = endPoint;
+            this.instance = instance;
+            this.table = table;
+            this.rows = rows;
+            this.loadTime = loadTime;
+            this.snapshotFile = snapshotFile;
+            this.restored = restored;
+        }
+    }
+
+    private final LinkedHashMap<List<Object>, Entry> entries;
+    private final Set<String> snapshotFiles = new HashSet<>();
+    private final Set<String> pendingSaves = new HashSet<>();
+    // bumped by clear(), writes scheduled before are dropped
+    private long generation = 0;
+    // bumped by invalidate() and clear(), rows loaded before are not cached
+    private long version = 0;
+
+    OTSMetadataCache(int maxSize) {
+        this.entries = new LinkedHashMap<List<Object>, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    List<Object[]> get(OTSConnectionConfiguration config, String instance, String table, List<Object> query, Loader loader) throws SQLException {
+        long cacheTime = config.getMetadataCacheTimeInMillisecond();
+        if (cacheTime <= 0) {
+            return loader.load();
+        }
+        String snapshotFile = config.getMetadataSnapshotFile();
+        attach(snapshotFile);
+        // users of one instance may see different tables, and a key id with a wrong secret must not be served
+        List<Object> key = Arrays.asList(config.getEndPoint(), credential(config), instance, table, query);
+        long now = System.nanoTime();
+        long loadVersion;
+        synchronized (this) {
+            loadVersion = version;
+            Entry entry = entries.get(key);
+            if (entry != null && entry.restored) {
+                if (!entry.refreshing) {
+                    entry.refreshing = true;
+                    BACKGROUND.execute(() -> refresh(key, entry, loader));
+                }
+                return entry.rows;
+            }
+            if (entry != null && now - entry.loadTime < cacheTime * 1000000) {
+                return entry.rows;
+            }
+        }
+        List<Object[]> rows = Collections.unmodifiableList(loader.load());
+        synchronized (this) {
+            // DDL ran while loading, the rows may be stale
+            if (version != loadVersion) {
+                return rows;
+            }
+            entries.put(key, new Entry(config.getEndPoint(), instance, table, rows, now, snapshotFile, false));
+        }
+        scheduleSave(snapshotFile);
+        return rows;
+    }
+
+    private void refresh(List<Object> key, Entry restored, Loader loader) {
+        List<Object[]> rows;
+        try {
+            rows = Collections.unmodifiableList(loader.load());
+        } catch (SQLException | RuntimeException e) {
+            LOGGER.debug("failed to refresh metadata of instance: " + restored.instance + ", table: " + restored.table, e);
+            synchronized (this) {
+                restored.refreshing = false;
+            }
+            return;
+        }
+        synchronized (this) {
+            // dropped or replaced while loading
+            if (entries.get(key) != restored) {
+                return;
+            }
+            entries.put(key, new Entry(restored.endPoint, restored.instance, restored.table, rows, System.nanoTime(),
+                    restored.snapshotFile, false));
+        }
+        scheduleSave(restored.snapshotFile);
+    }
+
+    // digest of the access key pair, so the secret is neither kept in the cache nor written to snapshots
+    static String credential(OTSConnectionConfiguration config) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(String.valueOf(config.getAccessKeyId()).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(String.valueOf(config.getAccessKeySecret()).getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    // reads a snapshot file the first time it is named, a missing or unreadable file starts empty
+    void attach(String snapshotFile) {
+        if (snapshotFile == null || snapshotFile.isEmpty()) {
+            return;
+        }
+        synchronized (snapshotFiles) {
+            if (!snapshotFiles.add(snapshotFile)) {
+                return;
+            }
+            try (InputStream in = Files.newInputStream(Paths.get(snapshotFile))) {
+                int restored = restore(new DataInputStream(new BufferedInputStream(in)), snapshotFile);
+                LOGGER.debug("restored " + restored + " metadata entries from " + snapshotFile);
+            } catch (NoSuchFileException e) {
+                LOGGER.debug("metadata snapshot " + snapshotFile + " does not exist yet");
+            } catch (IOException | RuntimeException e) {
+                LOGGER.debug("ignore unreadable metadata snapshot " + snapshotFile, e);
+            }
+        }
+    }
+
+    private int restore(DataInputStream in, String snapshotFile) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+            LOGGER.debug("ignore metadata snapshot " + snapshotFile + " of another format");
+            return 0;
+        }
+        String driverVersion = in.readUTF();
+        if (!driverVersion.equals(OTSDriver.OTS_DRIVER_VERSION)) {
+            LOGGER.debug("ignore metadata snapshot " + snapshotFile + " of driver " + driverVersion);
+            return 0;
+        }
+        int count = in.readInt();
+        List<Map.Entry<List<Object>, Entry>> restored = new ArrayList<>(count);
+        long now = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            String endPoint = (String) readValue(in);
+            String credential = (String) readValue(in);
+            String instance = (String) readValue(in);
+            String table = (String) readValue(in);
+            List<Object> query = Arrays.asList(readRow(in));
+            int rowCount = in.readInt();
+            List<Object[]> rows = new ArrayList<>(rowCount);
+            for (int j = 0; j < rowCount; j++) {
+                rows.add(readRow(in));
+            }
+            List<Object> key = Arrays.asList(endPoint, credential, instance, table, query);
+            restored.add(new AbstractMap.SimpleEntry<>(key, new Entry(endPoint, instance, table,
+                    Collections.unmodifiableList(rows), now, snapshotFile, true)));
+        }
+        synchronized (this) {
+            for (Map.Entry<List<Object>, Entry> entry : restored) {
+                // entries loaded since startup are newer
+                entries.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+        return count;
+    }
+
+    private void scheduleSave(String snapshotFile) {
+        if (snapshotFile == null || snapshotFile.isEmpty()) {
+            return;
+        }
+        synchronized (pendingSaves) {
+            if (!pendingSaves.add(snapshotFile)) {
+                return;
+            }
+        }
+        long scheduled;
+        synchronized (this) {
+            scheduled = generation;
+        }
+        BACKGROUND.execute(() -> {
+            synchronized (pendingSaves) {
+                pendingSaves.remove(snapshotFile);
+            }
+            try {
+                List<Map.Entry<List<Object>, Entry>> saved;
+                synchronized (this) {
+                    if (generation != scheduled) {
+                        return;
+                    }
+                    saved = entriesOf(snapshotFile);
+                }
+                write(snapshotFile, saved);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.debug("failed to write metadata snapshot " + snapshotFile, e);
+            }
+        });
+    }
+
+    void save(String snapshotFile) throws IOException {
+        List<Map.Entry<List<Object>, Entry>> saved;
+        synchronized (this) {
+            saved = entriesOf(snapshotFile);
+        }
+        write(snapshotFile, saved);
+    }
+
+    private List<Map.Entry<List<Object>, Entry>> entriesOf(String snapshotFile) {
+        List<Map.Entry<List<Object>, Entry>> saved = new ArrayList<>();
+        for (Map.Entry<List<Object>, Entry> entry : entries.entrySet()) {
+            if (snapshotFile.equals(entry.getValue().snapshotFile)) {
+                saved.add(new AbstractMap.SimpleEntry<>(entry.getKey(), entry.getValue()));
+            }
+        }
+        return saved;
+    }
+
+    // writes the entries to a temporary file that then replaces the snapshot file
+    private static void write(String snapshotFile, List<Map.Entry<List<Object>, Entry>> saved) throws IOException {
+        Path path = Paths.get(snapshotFile).toAbsolutePath();
+        Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+                data.writeInt(SNAPSHOT_MAGIC);
+                data.writeInt(SNAPSHOT_VERSION);
+                data.writeUTF(OTSDriver.OTS_DRIVER_VERSION);
+                data.writeInt(saved.size());
+                for (Map.Entry<List<Object>, Entry> entry : saved) {
+                    List<Object> key = entry.getKey();
+                    for (int i = 0; i < 4; i++) {
+                        writeValue(data, key.get(i));
+                    }
+                    writeRow(data, ((List<?>) key.get(4)).toArray());
+                    data.writeInt(entry.getValue().rows.size());
+                    for (Object[] row : entry.getValue().rows) {
+                        writeRow(data, row);
+                    }
+                }
+                data.flush();
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        LOGGER.debug("wrote " + saved.size() + " metadata entries to " + snapshotFile);
+    }
+
+    private static void writeRow(DataOutputStream out, Object[] row) throws IOException {
+        out.writeInt(row.length);
+        for (Object value : row) {
+            writeValue(out, value);
+        }
+    }
+
+    private static Object[] readRow(DataInputStream in) throws IOException {
+        Object[] row = new Object[in.readInt()];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = readValue(in);
+        }
+        return row;
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            out.writeUTF((String) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else {
+            throw new IOException("unsupported metadata value: " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return in.readUTF();
+            case LONG:
+                return in.readLong();
+            case INTEGER:
+                return in.readInt();
+            case DOUBLE:
+                return in.readDouble();
+            case BOOLEAN:
+                return in.readBoolean();
+            default:
+                throw new IOException("unknown metadata value tag: " + tag);
+        }
+    }
+
+    // a null table drops every entry of the endpoint
+    void invalidate(String endPoint, String table) {
+        LOGGER.debug("invalidate metadata of endpoint: " + endPoint + ", table: " + table);
+        Set<String> changedFiles = new HashSet<>();
+        synchronized (this) {
+            version++;
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (Objects.equals(entry.endPoint, endPoint)
+                        && (table == null || entry.table == null || entry.table.equals(table))) {
+                    iterator.remove();
+                    changedFiles.add(entry.snapshotFile);
+                }
+            }
+        }
+        for (String snapshotFile : changedFiles) {
+            scheduleSave(snapshotFile);
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    // also forgets which snapshot files were read and drops pending writes, the next use reads the files again
+    void clear() {
+        synchronized (snapshotFiles) {
+            snapshotFiles.clear();
+        }
+        synchronized (this) {
+            entries.clear();
+            generation++;
+            version++;
+        }
+    }
+
+    // the table a name pattern matches, or null when it may match several
+    static String literalTable(String pattern) {
+        return pattern == null || pattern.indexOf('%') >= 0 || pattern.indexOf('_') >= 0 ? null : pattern;
+    }
+
+    // the table that a CREATE, DROP or ALTER TABLE statement changes, or null when it can not be told
+    static String ddlTable(String sql) {
+        String[] tokens = sql.trim().split("[\\s(;]+");
+        int i = 0;
+        while (i < tokens.length && !tokens[i].equalsIgnoreCase("TABLE")) {
+            i++;
+        }
+        i++;
+        while (i < tokens.length && (tokens[i].equalsIgnoreCase("IF") || tokens[i].equalsIgnoreCase("NOT")
+                || tokens[i].equalsIgnoreCase("EXISTS"))) {
+            i++;
+        }
+        // several tables or a qualified name
+        if (i >= tokens.length || tokens[i].indexOf(',') >= 0 || tokens[i].indexOf('.') >= 0
+                || (i + 1 < tokens.length && tokens[i + 1].startsWith(","))) {
+            return null;
+        }
+        String table = tokens[i];
+        if (table.charAt(0) == '`') {
+            if (table.length() < 2 || table.charAt(table.length() - 1) != '`') {
+                return null;
+            }
+            table = table.substring(1, table.length() - 1).replace("``", "`");
+        }
+        return table.isEmpty() ? null : table;
+    }
+}
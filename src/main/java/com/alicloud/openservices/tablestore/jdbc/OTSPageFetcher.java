@@ -0,0 +1,69 @@
+package com.alicloud.openservices.tablestore.jdbc;
+
+import com.alicloud.openservices.tablestore.model.sql.SQLQueryResponse;
+import com.alicloud.openservices.tablestore.model.sql.SQLResultSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+
+// reads a SELECT page by page with LIMIT offset, count and keeps one page requested ahead of the reader
+class OTSPageFetcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OTSPageFetcher.class);
+
+    private final OTSStatement stmt;
+    private final String sql;
+    private final int maxRows;
+    private volatile int pageSize;
+    private long offset = 0;
+    private int requested = 0;
+    private CompletableFuture<SQLQueryResponse> next;
+
+    OTSPageFetcher(OTSStatement stmt, String sql, int pageSize, int maxRows) {
+        this.stmt = stmt;
+        this.sql = sql;
+        this.pageSize = pageSize;
+        this.maxRows = maxRows;
+    }
+
+    synchronized CompletableFuture<SQLQueryResponse> fetch() throws SQLException {
+        requested = maxRows > 0 ? (int) Math.min(pageSize, maxRows - offset) : pageSize;
+        String pageSql = sql + " LIMIT " + offset + ", " + requested;
+        offset += requested;
+        LOGGER.debug("fetch page: " + pageSql);
+        return stmt.sendRequest(pageSql);
+    }
+
+    // a short page is the last one
+    synchronized void prefetch(long received) throws SQLException {
+        if (received < requested || (maxRows > 0 && offset >= maxRows)) {
+            return;
+        }
+        next = fetch();
+        stmt.track(next);
+    }
+
+    synchronized SQLResultSet nextPage() throws SQLException {
+        if (next == null) {
+            return null;
+        }
+        SQLQueryResponse response = stmt.waitForFuture(next);
+        next = null;
+        SQLResultSet page = response.getSQLResultSet();
+        prefetch(page.rowCount());
+        return page;
+    }
+
+    void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    synchronized void close() {
+        if (next != null) {
+            next.cancel(true);
+            next = null;
+        }
+    }
+}
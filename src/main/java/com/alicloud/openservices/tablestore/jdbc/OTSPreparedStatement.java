@@ -1,7 +1,6 @@
 package com.alicloud.openservices.tablestore.jdbc;
 
 
-import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.io.IOUtils;
 
 import java.io.IOException;
@@ -12,18 +11,37 @@ import java.net.URL;
 import java.sql.Date;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class OTSPreparedStatement extends OTSStatement implements PreparedStatement {
 
-    private final String sql;
-    private final List<Integer> placeholders;
-    private final HashMap<Integer, Object> parameters;
+    private final OTSStatementParameters parameters;
 
     OTSPreparedStatement(OTSConnection conn, String sql) throws SQLException {
-        super(conn);
-        this.sql = sql;
-        this.placeholders = findPlaceholders(sql);
-        this.parameters = new HashMap<>();
+        this(conn, sql, ResultSet.TYPE_FORWARD_ONLY);
+    }
+
+    OTSPreparedStatement(OTSConnection conn, String sql, int resultSetType) throws SQLException {
+        this(conn, OTSStatementTemplate.compile(sql), resultSetType);
+    }
+
+    OTSPreparedStatement(OTSConnection conn, OTSStatementTemplate template, int resultSetType) {
+        this(conn, new OTSStatementParameters(template), resultSetType);
+    }
+
+    OTSPreparedStatement(OTSConnection conn, OTSStatementParameters parameters, int resultSetType) {
+        super(conn, resultSetType);
+        this.parameters = parameters;
+        this.poolable = true;
+    }
+
+    OTSStatementTemplate getTemplate() {
+        return parameters.getTemplate();
+    }
+
+    OTSStatementParameters getParameters() {
+        return parameters;
     }
 
     static List<Integer> findPlaceholders(String sql) throws SQLException {
@@ -58,44 +76,24 @@ public class OTSPreparedStatement extends OTSStatement implements PreparedStatem
     }
 
     String interpolateParameters() throws SQLException {
-        StringBuilder builder = new StringBuilder();
-        int beginIndex = 0;
-        for (int i = 0; i < placeholders.size(); i++) {
-            int placeholder = placeholders.get(i);
-            builder.append(sql, beginIndex, placeholder);
-            Object value = parameters.get(i);
-            builder.append(toSqlString(value));
-            beginIndex = placeholder + 1;
-        }
-        builder.append(sql.substring(beginIndex));
-        return builder.toString();
+        // the parameters may belong to another statement once this one is closed
+        checkClosed();
+        return parameters.interpolate();
     }
 
-    private String toSqlString(Object x) throws SQLException {
-        if (x == null) {
-            return "NULL";
-        } else if (x instanceof Boolean
-                || x instanceof Byte
-                || x instanceof Short
-                || x instanceof Integer
-                || x instanceof Long
-                || x instanceof Float
-                || x instanceof Double) {
-            return x.toString();
-        } else if (x instanceof BigDecimal) {
-            return ((BigDecimal) x).toPlainString();
-        } else if (x instanceof String) {
-            return StringUtils.quoteIdentifier(x.toString(), OTSDatabaseMetaData.quoteString);
-        } else if (x instanceof byte[]) {
-            return String.format("x'%s'", Hex.encodeHexString((byte[]) x));
-        } else if (x instanceof Timestamp) {
-            return String.format("FROM_UNIXTIME(%d)", ((Timestamp) x).getTime() / 1000);
-        } else if (x instanceof Time) {
-            return String.format("TIME('%s')", x);
-        } else if (x instanceof Date) {
-            return String.format("DATE('%s')", x);
-        } else {
-            throw new SQLException("unrecognized Java class: " + x.getClass().getName());
+    private int slot(int parameterIndex) throws SQLException {
+        checkClosed();
+        return parameters.slot(parameterIndex);
+    }
+
+    // parameter-slot pooling: the slots go back to the template cache, this statement stays closed
+    @Override
+    public void close() {
+        if (!isClosed()) {
+            super.close();
+            if (poolable) {
+                connection.templateCache.release(parameters);
+            }
         }
     }
 
@@ -120,6 +118,14 @@ public class OTSPreparedStatement extends OTSStatement implements PreparedStatem
         return super.executeQuery(interpolateParameters());
     }
 
+    public CompletableFuture<OTSResultSet> executeQueryAsync() throws SQLException {
+        return super.executeQueryAsync(interpolateParameters());
+    }
+
+    public CompletableFuture<OTSResultSet> executeQueryAsync(Executor executor) throws SQLException {
+        return super.executeQueryAsync(interpolateParameters(), executor);
+    }
+
     @Override
     public int executeUpdate() throws SQLException {
         return super.executeUpdate(interpolateParameters());
@@ -313,27 +319,26 @@ public class OTSPreparedStatement extends OTSStatement implements PreparedStatem
 
     @Override
     public void setObject(int parameterIndex, Object x) throws SQLException {
-        checkClosed();
-        // check parameter index
-        if (parameterIndex < 1 || parameterIndex > placeholders.size()) {
-            throw new SQLException("parameter index out of range");
-        }
+        int slot = slot(parameterIndex);
         // check parameter type
-        if (x == null
-                || x instanceof Boolean
-                || x instanceof String
-                || x instanceof Byte
-                || x instanceof Short
+        if (x instanceof Long
                 || x instanceof Integer
+                || x instanceof Short
+                || x instanceof Byte) {
+            setLong(parameterIndex, ((Number) x).longValue());
+        } else if (x instanceof Double) {
+            setDouble(parameterIndex, (Double) x);
+        } else if (x instanceof Boolean) {
+            setBoolean(parameterIndex, (Boolean) x);
+        } else if (x == null
+                || x instanceof String
                 || x instanceof Float
-                || x instanceof Double
-                || x instanceof Long
                 || x instanceof BigDecimal
                 || x instanceof byte[]
                 || x instanceof Timestamp
                 || x instanceof Time
                 || x instanceof Date) {
-            parameters.put(parameterIndex - 1, x);
+            parameters.setObject(slot, x);
         } else if (x instanceof Reader) {
             setCharacterStream(parameterIndex, (Reader) x);
         } else if (x instanceof Clob) {
@@ -356,7 +361,8 @@ public class OTSPreparedStatement extends OTSStatement implements PreparedStatem
 
     @Override
     public void setBoolean(int parameterIndex, boolean x) throws SQLException {
-        setObject(parameterIndex, x);
+        int slot = slot(parameterIndex);
+        parameters.setBoolean(slot, x);
     }
 
     @Override
@@ -374,7 +380,8 @@ public class OTSPreparedStatement extends OTSStatement implements PreparedStatem
 
     @Override
     public void setDouble(int parameterIndex, double x) throws SQLException {
-        setObject(parameterIndex, x);
+        int slot = slot(parameterIndex);
+        parameters.setDouble(slot, x);
     }
 
     @Override
@@ -389,7 +396,8 @@ public class OTSPreparedStatement extends OTSStatement implements PreparedStatem
 
     @Override
     public void setLong(int parameterIndex, long x) throws SQLException {
-        setObject(parameterIndex, x);
+        int slot = slot(parameterIndex);
+        parameters.setLong(slot, x);
     }
 
     @Override
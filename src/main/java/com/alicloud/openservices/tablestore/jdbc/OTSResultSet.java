@@ -1,5 +1,6 @@
 package com.alicloud.openservices.tablestore.jdbc;
 
+import com.alicloud.openservices.tablestore.model.ColumnType;
 import com.alicloud.openservices.tablestore.model.sql.SQLResultSet;
 import com.alicloud.openservices.tablestore.model.sql.SQLRow;
 
@@ -14,18 +15,86 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.ByteBuffer;
 import java.sql.*;
-import java.time.Duration;
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.ZonedDateTime;
+import java.time.*;
 import java.util.*;
 
 
 public class OTSResultSet extends WrapperAdapter implements ResultSet {
 
+    private interface TypeMapper {
+        Object map(OTSResultSet resultSet, int columnIndex) throws SQLException;
+    }
+
+    private interface ValueMapper {
+        Object map(OTSValueConverter converter, Object value) throws SQLException;
+    }
+
+    private static final Map<Class<?>, TypeMapper> TYPE_MAPPERS = new HashMap<>();
+    private static final int DEFAULT_DICTIONARY_ENCODING_THRESHOLD = 1024;
+    private static final long DEFAULT_SPILL_THRESHOLD_IN_BYTES = 0;
+    private static final long RESERVE_CHUNK_IN_BYTES = 64 << 10;
+
+    static {
+        // primitive getters report null through wasNull, so box only non-null values
+        TYPE_MAPPERS.put(Long.class, (rs, i) -> {
+            long value = rs.getLong(i);
+            return rs.wasNull() ? null : value;
+        });
+        TYPE_MAPPERS.put(Integer.class, (rs, i) -> {
+            int value = rs.getInt(i);
+            return rs.wasNull() ? null : value;
+        });
+        TYPE_MAPPERS.put(Short.class, (rs, i) -> {
+            short value = rs.getShort(i);
+            return rs.wasNull() ? null : value;
+        });
+        TYPE_MAPPERS.put(Byte.class, (rs, i) -> {
+            byte value = rs.getByte(i);
+            return rs.wasNull() ? null : value;
+        });
+        TYPE_MAPPERS.put(Double.class, (rs, i) -> {
+            double value = rs.getDouble(i);
+            return rs.wasNull() ? null : value;
+        });
+        TYPE_MAPPERS.put(Float.class, (rs, i) -> {
+            float value = rs.getFloat(i);
+            return rs.wasNull() ? null : value;
+        });
+        TYPE_MAPPERS.put(Boolean.class, (rs, i) -> {
+            boolean value = rs.getBoolean(i);
+            return rs.wasNull() ? null : value;
+        });
+        TYPE_MAPPERS.put(String.class, OTSResultSet::getString);
+        TYPE_MAPPERS.put(byte[].class, OTSResultSet::getBytes);
+        TYPE_MAPPERS.put(BigDecimal.class, OTSResultSet::getBigDecimal);
+        TYPE_MAPPERS.put(java.sql.Date.class, OTSResultSet::getDate);
+        TYPE_MAPPERS.put(Time.class, OTSResultSet::getTime);
+        TYPE_MAPPERS.put(Timestamp.class, OTSResultSet::getTimestamp);
+        TYPE_MAPPERS.put(Object.class, OTSResultSet::getObject);
+        TYPE_MAPPERS.put(ByteBuffer.class, OTSResultSet::getByteBuffer);
+        TYPE_MAPPERS.put(LocalDate.class, (rs, i) -> rs.convert(i, OTSValueConverter::getLocalDate));
+        TYPE_MAPPERS.put(LocalTime.class, (rs, i) -> rs.convert(i, OTSValueConverter::getLocalTime));
+        TYPE_MAPPERS.put(Duration.class, (rs, i) -> rs.convert(i, OTSValueConverter::getDuration));
+        TYPE_MAPPERS.put(ZonedDateTime.class, (rs, i) -> rs.convert(i, OTSValueConverter::getZonedDateTime));
+        TYPE_MAPPERS.put(LocalDateTime.class, (rs, i) -> rs.convert(i, OTSValueConverter::getLocalDateTime));
+        TYPE_MAPPERS.put(OffsetDateTime.class, (rs, i) -> rs.convert(i, (converter, value) -> converter.getZonedDateTime(value).toOffsetDateTime()));
+        TYPE_MAPPERS.put(Instant.class, (rs, i) -> rs.convert(i, (converter, value) -> converter.getZonedDateTime(value).toInstant()));
+    }
+
     private final OTSResultSetMetaData meta;
     private final Map<String, Integer> nameIndexMap;
+    private final OTSValueConverter[] converters;
+    private final int type;
+    private final int maxRows;
     private List<Object[]> rows;
+    private OTSColumnarRows columnar;
+    private OTSSpilledRows spilled;
+    private OTSMemoryTracker memory;
+    private long reservedBytes = 0;
+    private SQLResultSet source;
+    private OTSPageFetcher pages;
+    private Object[] currentRow;
+    private boolean afterLast = false;
     private OTSStatement stmt;
     private int fetchSize;
 
@@ -33,38 +102,127 @@ public class OTSResultSet extends WrapperAdapter implements ResultSet {
     private int rowIndex = 0;
     private SQLWarning warnings = null;
     private boolean isClosed = false;
+    private Class<?>[] mappedTypes;
+    private TypeMapper[] mappers;
+
+    OTSResultSet(OTSStatement stmt, SQLResultSet resultSet, int maxRows, int type) throws SQLException {
+        this(stmt, resultSet, maxRows, type, null);
+    }
 
-    OTSResultSet(OTSStatement stmt, SQLResultSet resultSet, int maxRows) throws SQLException {
+    OTSResultSet(OTSStatement stmt, SQLResultSet resultSet, int maxRows, int type, OTSPageFetcher pages) throws SQLException {
         this.stmt = stmt;
+        this.fetchSize = stmt == null ? 0 : stmt.getFetchSize();
+        this.type = type;
+        this.maxRows = maxRows;
         this.meta = new OTSResultSetMetaData(resultSet.getSQLTableMeta());
-        // build column map
-        this.nameIndexMap = new HashMap<>();
-        for (Map.Entry<String, Integer> column : resultSet.getSQLTableMeta().getColumnsMap().entrySet()) {
-            nameIndexMap.put(column.getKey(), column.getValue() + 1);
+        this.converters = converters(this.meta);
+        this.nameIndexMap = this.meta.getNameIndexMap();
+        if (type == ResultSet.TYPE_FORWARD_ONLY) {
+            // rows are converted as next() advances and only the current one is kept
+            this.source = resultSet;
+            this.currentRow = new Object[this.meta.getColumnCount()];
+            this.pages = pages;
+            if (pages != null) {
+                // the next page is requested while this one is read
+                pages.prefetch(resultSet.rowCount());
+            }
+            return;
         }
-        // convert to objects
-        this.rows = new ArrayList<>();
-        while (resultSet.hasNext()) {
-            SQLRow row = resultSet.next();
-            Object[] objects = new Object[this.meta.getColumnCount()];
-            for (int i = 0; i < this.meta.getColumnCount(); i++) {
-                objects[i] = row.get(i);
+        // store by column
+        long capacity = maxRows > 0 ? Math.min(maxRows, resultSet.rowCount()) : resultSet.rowCount();
+        OTSConnectionConfiguration config = stmt == null ? null : stmt.getConnectionConfiguration();
+        int dictionaryThreshold = config == null ? DEFAULT_DICTIONARY_ENCODING_THRESHOLD : config.getDictionaryEncodingThreshold();
+        long spillThreshold = config == null ? DEFAULT_SPILL_THRESHOLD_IN_BYTES : config.getSpillThresholdInBytes();
+        this.columnar = new OTSColumnarRows(this.meta.getColumnTypes(), (int) Math.min(capacity, OTSColumnarRows.MAX_ARRAY_LENGTH), dictionaryThreshold);
+        this.memory = stmt == null ? null : stmt.getResultSetMemory();
+        while (resultSet.hasNext() && (maxRows <= 0 || columnar.size() < maxRows)) {
+            try {
+                columnar.add(resultSet.next());
+            } catch (SQLException e) {
+                releaseMemory();
+                throw e;
+            }
+            if (spillThreshold > 0 && columnar.estimatedBytes() > spillThreshold) {
+                // the spilled rows live outside the heap
+                releaseMemory();
+                spill(resultSet);
+                return;
             }
-            rows.add(objects);
+            if (columnar.estimatedBytes() - reservedBytes >= RESERVE_CHUNK_IN_BYTES && !reserveMemory()) {
+                overMemoryLimit(resultSet, spillThreshold);
+                return;
+            }
+        }
+        if (!reserveMemory()) {
+            overMemoryLimit(resultSet, spillThreshold);
+        }
+    }
+
+    private boolean reserveMemory() {
+        long bytes = columnar.estimatedBytes() - reservedBytes;
+        if (memory == null || bytes <= 0) {
+            return true;
+        }
+        if (!memory.tryReserve(bytes)) {
+            return false;
+        }
+        reservedBytes += bytes;
+        return true;
+    }
+
+    private void releaseMemory() {
+        if (memory != null && reservedBytes > 0) {
+            memory.release(reservedBytes);
+        }
+        reservedBytes = 0;
+    }
+
+    private void overMemoryLimit(SQLResultSet resultSet, long spillThreshold) throws SQLException {
+        releaseMemory();
+        if (spillThreshold > 0) {
+            spill(resultSet);
+            return;
         }
-        // truncate rows
-        if (maxRows > 0 && this.rows.size() > maxRows) {
-            this.rows = this.rows.subList(0, maxRows);
+        throw new SQLException(String.format("Result set memory limit exceeded after %d rows (about %d bytes), "
+                        + "connection: %d of %d bytes in use, driver: %d of %d bytes in use. "
+                        + "Use a forward-only result set or a smaller maxRows.",
+                columnar.size(), columnar.estimatedBytes(), memory.getUsed(), memory.getLimit(),
+                OTSDriver.RESULT_SET_MEMORY.getUsed(), OTSDriver.RESULT_SET_MEMORY.getLimit()));
+    }
+
+    // moves the rows read so far and the remaining ones to a temporary file
+    private void spill(SQLResultSet resultSet) throws SQLException {
+        Object[] row = new Object[meta.getColumnCount()];
+        spilled = new OTSSpilledRows(row.length);
+        try {
+            for (int i = 0; i < columnar.size(); i++) {
+                for (int j = 0; j < row.length; j++) {
+                    row[j] = columnar.get(i, j);
+                }
+                spilled.add(row);
+            }
+            columnar = null;
+            while (resultSet.hasNext() && (maxRows <= 0 || spilled.size() < maxRows)) {
+                SQLRow next = resultSet.next();
+                for (int j = 0; j < row.length; j++) {
+                    row[j] = next.get(j);
+                }
+                spilled.add(row);
+            }
+            spilled.finish();
+        } catch (SQLException e) {
+            spilled.close();
+            throw e;
         }
     }
 
     OTSResultSet(OTSResultSetMetaData meta, List<Object[]> rows) throws SQLException {
         this.meta = meta;
+        this.converters = converters(meta);
+        this.type = ResultSet.TYPE_SCROLL_INSENSITIVE;
+        this.maxRows = 0;
         this.rows = rows;
-        this.nameIndexMap = new HashMap<>();
-        for (int i = 1; i <= this.meta.getColumnCount(); i++) {
-            this.nameIndexMap.put(this.meta.getColumnName(i), i);
-        }
+        this.nameIndexMap = meta.getNameIndexMap();
     }
 
     @Override
@@ -83,27 +241,38 @@ public class OTSResultSet extends WrapperAdapter implements ResultSet {
     }
 
     @Override
-    public void setFetchSize(int rows) {
+    public void setFetchSize(int rows) throws SQLException {
+        checkClosed();
+        if (rows < 0) {
+            throw new SQLException("fetch size must be >= 0");
+        }
         fetchSize = rows;
+        // applies to the pages requested from now on
+        if (pages != null && rows > 0) {
+            pages.setPageSize(rows);
+        }
     }
 
     @Override
-    public boolean absolute(int row) {
+    public boolean absolute(int row) throws SQLException {
+        checkScrollable();
         if (row < 0) {
-            rowIndex = rows.size() + 1 + row;
+            rowIndex = rowCount() + 1 + row;
         } else {
             rowIndex = row;
         }
-        return 0 < rowIndex && rowIndex <= rows.size();
+        return 0 < rowIndex && rowIndex <= rowCount();
     }
 
     @Override
-    public void afterLast() {
-        rowIndex = rows.size() + 1;
+    public void afterLast() throws SQLException {
+        checkScrollable();
+        rowIndex = rowCount() + 1;
     }
 
     @Override
-    public void beforeFirst() {
+    public void beforeFirst() throws SQLException {
+        checkScrollable();
         rowIndex = 0;
     }
 
@@ -124,8 +293,9 @@ public class OTSResultSet extends WrapperAdapter implements ResultSet {
     }
 
     @Override
-    public boolean first() {
-        if (rows.isEmpty()) {
+    public boolean first() throws SQLException {
+        checkScrollable();
+        if (rowCount() == 0) {
             return false;
         }
         rowIndex = 1;
@@ -155,19 +325,7 @@ public class OTSResultSet extends WrapperAdapter implements ResultSet {
     @Override
     public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
         Object value = getObject(columnIndex);
-        if (value == null) {
-            return null;
-        } else if (value instanceof Boolean || value instanceof Long) {
-            return new BigDecimal(getLong(columnIndex));
-        } else if (value instanceof Double) {
-            return BigDecimal.valueOf(getDouble(columnIndex));
-        } else if (value instanceof String) {
-            return new BigDecimal((String) value);
-        } else if (value instanceof ByteBuffer) {
-            return new BigDecimal(new String(unwrapByteBuffer((ByteBuffer) value)));
-        } else {
-            throw new SQLException(String.format("Unsupported conversion from %s to %s", meta.getColumnTypeName(columnIndex), BigDecimal.class.getName()));
-        }
+        return value == null ? null : converters[columnIndex - 1].getBigDecimal(value);
     }
 
     @Override
@@ -196,18 +354,48 @@ public class OTSResultSet extends WrapperAdapter implements ResultSet {
 
     @Override
     public Object getObject(int columnIndex) throws SQLException {
+        checkCell(columnIndex);
+        Object value;
+        if (source != null) {
+            value = currentRow[columnIndex - 1];
+        } else if (columnar != null) {
+            value = columnar.get(rowIndex - 1, columnIndex - 1);
+        } else if (spilled != null) {
+            value = spilled.get(rowIndex - 1, columnIndex - 1);
+        } else {
+            value = rows.get(rowIndex - 1)[columnIndex - 1];
+        }
+        wasNull = value == null;
+        return value;
+    }
+
+    private static OTSValueConverter[] converters(OTSResultSetMetaData meta) throws SQLException {
+        List<ColumnType> types = meta.getColumnTypes();
+        OTSValueConverter[] converters = new OTSValueConverter[types.size()];
+        for (int i = 0; i < converters.length; i++) {
+            ColumnType type = types.get(i);
+            converters[i] = OTSValueConverter.forColumn(type, type == null ? null : meta.getColumnTypeName(i + 1));
+        }
+        return converters;
+    }
+
+    private void checkCell(int columnIndex) throws SQLException {
         if (rowIndex < 1) {
             throw new SQLException("Before start of result set");
-        } else if (rowIndex > rows.size()) {
+        } else if (source != null ? afterLast : rowIndex > rowCount()) {
             throw new SQLException("After end of result set");
         } else if (columnIndex < 1) {
             throw new SQLException(String.format("Column Index out of range, %d < 1.", columnIndex));
         } else if (columnIndex > meta.getColumnCount()) {
             throw new SQLException(String.format("Column Index out of range, %d > %d.", columnIndex, meta.getColumnCount()));
         }
-        Object value = rows.get(rowIndex - 1)[columnIndex - 1];
-        wasNull = value == null;
-        return value;
+    }
+
+    private int rowCount() {
+        if (columnar != null) {
+            return columnar.size();
+        }
+        return spilled != null ? spilled.size() : rows.size();
     }
 
     @Override
@@ -227,13 +415,38 @@ public class OTSResultSet extends WrapperAdapter implements ResultSet {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
-        throw new SQLFeatureNotSupportedException();
+        if (type == null) {
+            throw new SQLException("type must not be null");
+        }
+        checkCell(columnIndex);
+        // callers ask for the same class per column, so remember the last mapper of each column
+        if (mappedTypes == null) {
+            mappedTypes = new Class<?>[converters.length];
+            mappers = new TypeMapper[converters.length];
+        }
+        TypeMapper mapper = mappers[columnIndex - 1];
+        if (mappedTypes[columnIndex - 1] != type) {
+            mapper = TYPE_MAPPERS.get(type);
+            if (mapper == null) {
+                throw converters[columnIndex - 1].unsupported(type);
+            }
+            mappedTypes[columnIndex - 1] = type;
+            mappers[columnIndex - 1] = mapper;
+        }
+        return (T) mapper.map(this, columnIndex);
     }
 
     @Override
     public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
-        throw new SQLFeatureNotSupportedException();
+        int columnIndex = findColumn(columnLabel);
+        return getObject(columnIndex, type);
+    }
+
+    private Object convert(int columnIndex, ValueMapper mapper) throws SQLException {
+        Object value = getObject(columnIndex);
+        return value == null ? null : mapper.map(converters[columnIndex - 1], value);
     }
 
     @Override
@@ -247,10 +460,23 @@ public class OTSResultSet extends WrapperAdapter implements ResultSet {
                 && !(value instanceof Duration)
                 && !(value instanceof LocalDate)) {
             throw new SQLException(String.format("Unsupported conversion from %s to %s", meta.getColumnTypeName(columnIndex), InputStream.class.getName()));
+        } else if (value instanceof ByteBuffer) {
+            // binaries are streamed in place
+            return new ByteBufferInputStream((ByteBuffer) value);
         }
         return new ByteArrayInputStream(getBytes(columnIndex));
     }
 
+    public ByteBuffer getByteBuffer(int columnIndex) throws SQLException {
+        Object value = getObject(columnIndex);
+        return value == null ? null : converters[columnIndex - 1].getByteBuffer(value);
+    }
+
+    public ByteBuffer getByteBuffer(String columnLabel) throws SQLException {
+        int columnIndex = findColumn(columnLabel);
+        return getByteBuffer(columnIndex);
+    }
+
     @Override
     public InputStream getBinaryStream(String columnLabel) throws SQLException {
         int columnIndex = findColumn(columnLabel);
@@ -280,22 +506,15 @@ public class OTSResultSet extends WrapperAdapter implements ResultSet {
 
     @Override
     public boolean getBoolean(int columnIndex) throws SQLException {
-        Object value = getObject(columnIndex);
-        if (value == null) {
-            return false;
-        } else if (value instanceof Boolean) {
-            return (Boolean) value;
-        } else if (value instanceof Long) {
-            return (Long) value != 0;
-        } else if (value instanceof Double) {
-            return (Double) value != 0;
-        } else if (value instanceof String) {
-            return Boolean.parseBoolean((String) value);
-        } else if (value instanceof ByteBuffer) {
-            return Boolean.parseBoolean(new String(unwrapByteBuffer((ByteBuffer) value)));
-        } else {
-            throw new SQLException(String.format("Unsupported conversion from %s to %s", meta.getColumnTypeName(columnIndex), Boolean.class.getName()));
+        if (columnar != null) {
+            checkCell(columnIndex);
+            if (columnar.isBoolean(columnIndex - 1)) {
+                wasNull = columnar.isNull(rowIndex - 1, columnIndex - 1);
+                return !wasNull && columnar.getBoolean(rowIndex - 1, columnIndex - 1);
+            }
         }
+        Object value = getObject(columnIndex);
+        return value != null && converters[columnIndex - 1].getBoolean(value);
     }
 
     @Override
@@ -323,23 +542,7 @@ public class OTSResultSet extends WrapperAdapter implements ResultSet {
     @Override
     public byte[] getBytes(int columnIndex) throws SQLException {
         Object value = getObject(columnIndex);
-        if (value == null) {
-            return null;
-        } else if (value instanceof ByteBuffer) {
-            return unwrapByteBuffer((ByteBuffer) value);
-        } else if (value instanceof ZonedDateTime) {
-            return Timestamp.valueOf(((ZonedDateTime) value).toLocalDateTime()).toString().getBytes();
-        } else if (value instanceof Duration) {
-            return String.valueOf(LocalTime.MIDNIGHT.plus((Duration) value)).getBytes();
-        } else if (value instanceof Long
-                || value instanceof Double
-                || value instanceof Boolean
-                || value instanceof String
-                || value instanceof LocalDate) {
-            return value.toString().getBytes();
-        } else {
-            throw new SQLException(String.format("Unsupported conversion from %s to %s", meta.getColumnTypeName(columnIndex), byte[].class.getName()));
-        }
+        return value == null ? null : converters[columnIndex - 1].getBytes(value);
     }
 
     @Override
@@ -403,14 +606,7 @@ public class OTSResultSet extends WrapperAdapter implements ResultSet {
     @Override
     public java.sql.Date getDate(int columnIndex) throws SQLException {
         Object value = getObject(columnIndex);
-        if (value == null) {
-            return null;
-        } else if (value instanceof String) {
-            return java.sql.Date.valueOf((String) value);
-        } else if (value instanceof LocalDate) {
-            return java.sql.Date.valueOf((LocalDate) value);
-        }
-        throw new SQLException(String.format("Unsupported conversion from %s to %s", meta.getColumnTypeName(columnIndex), java.sql.Date.class.getName()));
+        return value == null ? null : converters[columnIndex - 1].getDate(value);
     }
 
     @Override
@@ -431,22 +627,15 @@ public class OTSResultSet extends WrapperAdapter implements ResultSet {
 
     @Override
     public double getDouble(int columnIndex) throws SQLException {
-        Object value = getObject(columnIndex);
-        if (value == null) {
-            return 0;
-        } else if (value instanceof Double) {
-            return (Double) value;
-        } else if (value instanceof Long) {
-            return (double) (Long) value;
-        } else if (value instanceof Boolean) {
-            return (Boolean) value ? 1.0 : 0.0;
-        } else if (value instanceof String) {
-            return Double.parseDouble((String) value);
-        } else if (value instanceof ByteBuffer) {
-            return Double.parseDouble(new String(unwrapByteBuffer((ByteBuffer) value)));
-        } else {
-            throw new SQLException(String.format("Unsupported conversion from %s to %s", meta.getColumnTypeName(columnIndex), Double.class.getName()));
+        if (columnar != null) {
+            checkCell(columnIndex);
+            if (columnar.isDouble(columnIndex - 1)) {
+                wasNull = columnar.isNull(rowIndex - 1, columnIndex - 1);
+                return wasNull ? 0 : columnar.getDouble(rowIndex - 1, columnIndex - 1);
+            }
         }
+        Object value = getObject(columnIndex);
+        return value == null ? 0 : converters[columnIndex - 1].getDouble(value);
     }
 
     @Override
@@ -494,22 +683,15 @@ public class OTSResultSet extends WrapperAdapter implements ResultSet {
 
     @Override
     public long getLong(int columnIndex) throws SQLException {
-        Object value = getObject(columnIndex);
-        if (value == null) {
-            return 0;
-        } else if (value instanceof Long) {
-            return (Long) value;
-        } else if (value instanceof Double) {
-            return ((Double) value).longValue();
-        } else if (value instanceof Boolean) {
-            return (Boolean) value ? 1L : 0L;
-        } else if (value instanceof String) {
-            return Long.parseLong((String) value);
-        } else if (value instanceof ByteBuffer) {
-            return Long.parseLong(new String(unwrapByteBuffer((ByteBuffer) value)));
-        } else {
-            throw new SQLException(String.format("Unsupported conversion from %s to %s", meta.getColumnTypeName(columnIndex), Long.class.getName()));
+        if (columnar != null) {
+            checkCell(columnIndex);
+            if (columnar.isLong(columnIndex - 1)) {
+                wasNull = columnar.isNull(rowIndex - 1, columnIndex - 1);
+                return wasNull ? 0 : columnar.getLong(rowIndex - 1, columnIndex - 1);
+            }
         }
+        Object value = getObject(columnIndex);
+        return value == null ? 0 : converters[columnIndex - 1].getLong(value);
     }
 
     @Override
@@ -551,24 +733,7 @@ public class OTSResultSet extends WrapperAdapter implements ResultSet {
     @Override
     public String getString(int columnIndex) throws SQLException {
         Object value = getObject(columnIndex);
-        if (value == null) {
-            return null;
-        } else if (value instanceof String) {
-            return (String) value;
-        } else if (value instanceof ByteBuffer) {
-            return new String(unwrapByteBuffer((ByteBuffer) value));
-        } else if (value instanceof ZonedDateTime) {
-            return Timestamp.valueOf(((ZonedDateTime) value).toLocalDateTime()).toString();
-        } else if (value instanceof Duration) {
-            return String.valueOf(LocalTime.MIDNIGHT.plus((Duration) value));
-        } else if (value instanceof Long
-                || value instanceof Double
-                || value instanceof Boolean
-                || value instanceof LocalDate) {
-            return value.toString();
-        } else {
-            throw new SQLException(String.format("Unsupported conversion from %s to %s", meta.getColumnTypeName(columnIndex), String.class.getName()));
-        }
+        return value == null ? null : converters[columnIndex - 1].getString(value);
     }
 
     @Override
@@ -642,14 +807,7 @@ public class OTSResultSet extends WrapperAdapter implements ResultSet {
     @Override
     public Time getTime(int columnIndex) throws SQLException {
         Object value = getObject(columnIndex);
-        if (value == null) {
-            return null;
-        } else if (value instanceof String) {
-            return Time.valueOf(LocalTime.parse((String) value));
-        } else if (value instanceof Duration) {
-            return Time.valueOf(LocalTime.MIDNIGHT.plus((Duration) value));
-        }
-        throw new SQLException(String.format("Unsupported conversion from %s to %s", meta.getColumnTypeName(columnIndex), Time.class.getName()));
+        return value == null ? null : converters[columnIndex - 1].getTime(value);
     }
 
     @Override
@@ -671,14 +829,7 @@ public class OTSResultSet extends WrapperAdapter implements ResultSet {
     @Override
     public Timestamp getTimestamp(int columnIndex) throws SQLException {
         Object value = getObject(columnIndex);
-        if (value == null) {
-            return null;
-        } else if (value instanceof String) {
-            return Timestamp.valueOf((String) value);
-        } else if (value instanceof ZonedDateTime) {
-            return Timestamp.valueOf(((ZonedDateTime) value).toLocalDateTime());
-        }
-        throw new SQLException(String.format("Unsupported conversion from %s to %s", meta.getColumnTypeName(columnIndex), Timestamp.class.getName()));
+        return value == null ? null : converters[columnIndex - 1].getTimestamp(value);
     }
 
     @Override
@@ -700,7 +851,7 @@ public class OTSResultSet extends WrapperAdapter implements ResultSet {
     @Override
     public int getType() throws SQLException {
         checkClosed();
-        return ResultSet.TYPE_FORWARD_ONLY;
+        return type;
     }
 
     @Override
@@ -766,16 +917,20 @@ public class OTSResultSet extends WrapperAdapter implements ResultSet {
     }
 
     @Override
-    public boolean isLast() {
-        return rowIndex == rows.size();
+    public boolean isLast() throws SQLException {
+        if (source != null) {
+            return rowIndex > 0 && !afterLast && (reachedMaxRows() || !hasNextRow());
+        }
+        return rowIndex == rowCount();
     }
 
     @Override
-    public boolean last() {
-        if (rows.isEmpty()) {
+    public boolean last() throws SQLException {
+        checkScrollable();
+        if (rowCount() == 0) {
             return false;
         }
-        rowIndex = rows.size();
+        rowIndex = rowCount();
         return true;
     }
 
@@ -1237,7 +1392,19 @@ public class OTSResultSet extends WrapperAdapter implements ResultSet {
     @Override
     public boolean next() throws SQLException {
         checkClosed();
-        if (rowIndex < rows.size()) {
+        if (source != null) {
+            if (afterLast || reachedMaxRows() || !hasNextRow()) {
+                afterLast = true;
+                return false;
+            }
+            SQLRow row = source.next();
+            for (int i = 0; i < currentRow.length; i++) {
+                currentRow[i] = row.get(i);
+            }
+            rowIndex++;
+            return true;
+        }
+        if (rowIndex < rowCount()) {
             rowIndex++;
             return true;
         }
@@ -1245,9 +1412,19 @@ public class OTSResultSet extends WrapperAdapter implements ResultSet {
     }
 
     @Override
-    public void close() {
+    public synchronized void close() {
         if (!isClosed) {
             isClosed = true;
+            if (stmt != null) {
+                stmt.connection.resultSets.remove(this);
+            }
+            if (pages != null) {
+                pages.close();
+            }
+            if (spilled != null) {
+                spilled.close();
+            }
+            releaseMemory();
         }
     }
 
@@ -1257,16 +1434,30 @@ public class OTSResultSet extends WrapperAdapter implements ResultSet {
         return wasNull;
     }
 
+    private boolean hasNextRow() throws SQLException {
+        while (!source.hasNext()) {
+            SQLResultSet page = pages == null ? null : pages.nextPage();
+            if (page == null) {
+                return false;
+            }
+            source = page;
+        }
+        return true;
+    }
+
+    private boolean reachedMaxRows() {
+        return maxRows > 0 && rowIndex >= maxRows;
+    }
+
+    private void checkScrollable() throws SQLException {
+        if (type == ResultSet.TYPE_FORWARD_ONLY) {
+            throw new SQLException("the result set is TYPE_FORWARD_ONLY");
+        }
+    }
+
     private void checkClosed() throws SQLException {
         if (isClosed) {
             throw new SQLException("the result set has already been closed");
         }
     }
-
-    private byte[] unwrapByteBuffer(ByteBuffer buffer) {
-        ByteBuffer copy = buffer.duplicate();
-        byte[] bytes = new byte[copy.remaining()];
-        copy.get(bytes);
-        return bytes;
-    }
 }
@@ -9,27 +9,52 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class OTSResultSetMetaData extends WrapperAdapter implements ResultSetMetaData {
 
     private final List<String> columnNames;
     private final List<ColumnType> columnTypes;
+    // 1-based column indexes by name, shared by every result set of this metadata
+    private final Map<String, Integer> nameIndexMap;
 
     OTSResultSetMetaData(SQLTableMeta meta) {
-        columnNames = new ArrayList<>();
-        columnTypes = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<ColumnType> types = new ArrayList<>();
         List<SQLColumnSchema> columns = meta.getSchema();
         for (SQLColumnSchema column : columns) {
-            columnNames.add(column.getName());
-            columnTypes.add(column.getType());
+            names.add(column.getName());
+            types.add(column.getType());
         }
+        this.columnNames = Collections.unmodifiableList(names);
+        this.columnTypes = Collections.unmodifiableList(types);
+        Map<String, Integer> indexes = new HashMap<>();
+        for (Map.Entry<String, Integer> column : meta.getColumnsMap().entrySet()) {
+            indexes.put(column.getKey(), column.getValue() + 1);
+        }
+        this.nameIndexMap = Collections.unmodifiableMap(indexes);
     }
 
     OTSResultSetMetaData(List<String> columnNames, List<ColumnType> columnTypes) {
         assert columnNames.size() == columnTypes.size();
-        this.columnNames = columnNames;
-        this.columnTypes = columnTypes;
+        this.columnNames = Collections.unmodifiableList(new ArrayList<>(columnNames));
+        this.columnTypes = Collections.unmodifiableList(new ArrayList<>(columnTypes));
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < columnNames.size(); i++) {
+            indexes.put(columnNames.get(i), i + 1);
+        }
+        this.nameIndexMap = Collections.unmodifiableMap(indexes);
+    }
+
+    List<ColumnType> getColumnTypes() {
+        return columnTypes;
+    }
+
+    Map<String, Integer> getNameIndexMap() {
+        return nameIndexMap;
     }
 
     private int toZeroIndex(int column) throws SQLException {
@@ -162,7 +187,8 @@ public class OTSResultSetMetaData extends WrapperAdapter implements ResultSetMet
 
     @Override
     public int getPrecision(int column) throws SQLException {
-        return 0;
+        OTSTypeDescriptor type = OTSType.of(columnTypes.get(toZeroIndex(column)));
+        return type == null ? 0 : (int) type.getPrecision();
     }
 
     @Override
@@ -0,0 +1,235 @@
+package com.alicloud.openservices.tablestore.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+
+// materialized rows serialized into a temporary file and read back through memory mappings, a row never crosses
+// a mapping so every row is found from its offset alone
+class OTSSpilledRows implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OTSSpilledRows.class);
+
+    private static final int SEGMENT_SIZE = 1 << 30;
+    // rows are collected in the buffer and written when less than the margin is left
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int FLUSH_MARGIN = 64 * 1024;
+
+    private static final byte NULL = 0;
+    private static final byte LONG = 1;
+    private static final byte DOUBLE = 2;
+    private static final byte TRUE = 3;
+    private static final byte FALSE = 4;
+    private static final byte STRING = 5;
+    private static final byte BINARY = 6;
+    private static final byte DATETIME = 7;
+    private static final byte TIME = 8;
+    private static final byte DATE = 9;
+
+    private final int columnCount;
+    private final Path path;
+    private final FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private long[] offsets = new long[1024];
+    private int size = 0;
+    // file offset of the first byte in the buffer
+    private long bufferStart = 0;
+    private MappedByteBuffer[] segments;
+    private int decodedRow = -1;
+    private final Object[] decoded;
+
+    OTSSpilledRows(int columnCount) throws SQLException {
+        this.columnCount = columnCount;
+        this.decoded = new Object[columnCount];
+        try {
+            this.path = Files.createTempFile("ots-jdbc-", ".rows");
+            this.channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new SQLException("Failed to create spill file", e);
+        }
+        LOGGER.debug("spill result set to " + path);
+    }
+
+    void add(Object[] row) throws SQLException {
+        int rowStart = buffer.position();
+        for (Object value : row) {
+            write(value);
+        }
+        int length = buffer.position() - rowStart;
+        if (length > SEGMENT_SIZE) {
+            throw new SQLException("Row is too large to spill: " + length + " bytes");
+        }
+        long offset = bufferStart + rowStart;
+        // start the next mapping instead of splitting the row
+        long segmentEnd = (offset / SEGMENT_SIZE + 1) * SEGMENT_SIZE;
+        if (offset + length > segmentEnd) {
+            flush(rowStart);
+            bufferStart = segmentEnd;
+            offset = segmentEnd;
+        }
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        offsets[size++] = offset;
+        if (buffer.remaining() < FLUSH_MARGIN) {
+            flush(buffer.position());
+        }
+    }
+
+    // writes the first bytes of the buffer to the file and moves the rest to the front
+    private void flush(int end) throws SQLException {
+        ByteBuffer pending = buffer.duplicate();
+        pending.flip();
+        pending.limit(end);
+        try {
+            long offset = bufferStart;
+            while (pending.hasRemaining()) {
+                offset += channel.write(pending, offset);
+            }
+        } catch (IOException e) {
+            throw new SQLException("Failed to write spill file", e);
+        }
+        buffer.flip();
+        buffer.position(end);
+        buffer.compact();
+        bufferStart += end;
+    }
+
+    // maps the file once all rows are written
+    void finish() throws SQLException {
+        flush(buffer.position());
+        long length = bufferStart;
+        segments = new MappedByteBuffer[(int) ((length + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+        try {
+            for (int i = 0; i < segments.length; i++) {
+                long start = (long) i * SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, length - start));
+            }
+        } catch (IOException e) {
+            throw new SQLException("Failed to map spill file", e);
+        }
+        buffer = null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    Object get(int row, int column) {
+        if (row != decodedRow) {
+            long offset = offsets[row];
+            ByteBuffer segment = segments[(int) (offset / SEGMENT_SIZE)].duplicate();
+            segment.position((int) (offset % SEGMENT_SIZE));
+            for (int i = 0; i < columnCount; i++) {
+                decoded[i] = read(segment);
+            }
+            decodedRow = row;
+        }
+        Object value = decoded[column];
+        // callers may move the position of binaries
+        return value instanceof ByteBuffer ? ((ByteBuffer) value).duplicate() : value;
+    }
+
+    @Override
+    public void close() {
+        segments = null;
+        decodedRow = -1;
+        Arrays.fill(decoded, null);
+        try {
+            channel.close();
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // mapped files can not be deleted on some platforms until the mapping is collected
+            LOGGER.debug("failed to delete spill file " + path + ", " + e.getMessage());
+            path.toFile().deleteOnExit();
+        }
+    }
+
+    private void write(Object value) {
+        if (value == null) {
+            ensure(1).put(NULL);
+        } else if (value instanceof Long) {
+            ensure(9).put(LONG).putLong((Long) value);
+        } else if (value instanceof Double) {
+            ensure(9).put(DOUBLE).putDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            ensure(1).put((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof ByteBuffer) {
+            ByteBuffer bytes = ((ByteBuffer) value).duplicate();
+            ensure(5 + bytes.remaining()).put(BINARY).putInt(bytes.remaining()).put(bytes);
+        } else if (value instanceof ZonedDateTime) {
+            ZonedDateTime dateTime = (ZonedDateTime) value;
+            byte[] zone = dateTime.getZone().getId().getBytes(StandardCharsets.UTF_8);
+            ensure(17 + zone.length).put(DATETIME).putLong(dateTime.toEpochSecond()).putInt(dateTime.getNano())
+                    .putInt(zone.length).put(zone);
+        } else if (value instanceof Duration) {
+            Duration duration = (Duration) value;
+            ensure(13).put(TIME).putLong(duration.getSeconds()).putInt(duration.getNano());
+        } else if (value instanceof LocalDate) {
+            ensure(9).put(DATE).putLong(((LocalDate) value).toEpochDay());
+        } else {
+            byte[] string = value.toString().getBytes(StandardCharsets.UTF_8);
+            ensure(5 + string.length).put(STRING).putInt(string.length).put(string);
+        }
+    }
+
+    private ByteBuffer ensure(int length) {
+        if (buffer.remaining() < length) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + length));
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+        return buffer;
+    }
+
+    private static Object read(ByteBuffer segment) {
+        byte tag = segment.get();
+        switch (tag) {
+            case LONG:
+                return segment.getLong();
+            case DOUBLE:
+                return segment.getDouble();
+            case TRUE:
+                return true;
+            case FALSE:
+                return false;
+            case STRING:
+                return OTSValueConverter.decodeUtf8(slice(segment, segment.getInt()));
+            case BINARY:
+                return slice(segment, segment.getInt()).asReadOnlyBuffer();
+            case DATETIME:
+                Instant instant = Instant.ofEpochSecond(segment.getLong(), segment.getInt());
+                String zone = OTSValueConverter.decodeUtf8(slice(segment, segment.getInt()));
+                return ZonedDateTime.ofInstant(instant, ZoneId.of(zone));
+            case TIME:
+                return Duration.ofSeconds(segment.getLong(), segment.getInt());
+            case DATE:
+                return LocalDate.ofEpochDay(segment.getLong());
+            default:
+                return null;
+        }
+    }
+
+    private static ByteBuffer slice(ByteBuffer segment, int length) {
+        ByteBuffer slice = segment.slice();
+        slice.limit(length);
+        segment.position(segment.position() + length);
+        return slice;
+    }
+}
@@ -0,0 +1,102 @@
+package com.alicloud.openservices.tablestore.jdbc;
+
+// splits SQL text into words, quoted text, comments and single character symbols, tracking the parenthesis depth.
+// quoted text uses backslash escapes as the dialect does.
+final class OTSSqlScanner {
+
+    static final int END = 0;
+    static final int WORD = 1;
+    static final int QUOTED = 2;
+    static final int UNTERMINATED = 3;
+    static final int COMMENT = 4;
+    static final int SYMBOL = 5;
+
+    private final String sql;
+    private final int end;
+    private int position = 0;
+    private int start = 0;
+    private int depth = 0;
+
+    OTSSqlScanner(String sql, int end) {
+        this.sql = sql;
+        this.end = end;
+    }
+
+    int next() {
+        while (position < end && Character.isWhitespace(sql.charAt(position))) {
+            position++;
+        }
+        start = position;
+        if (position >= end) {
+            return END;
+        }
+        char c = sql.charAt(position++);
+        if (isWordPart(c)) {
+            while (position < end && isWordPart(sql.charAt(position))) {
+                position++;
+            }
+            return WORD;
+        }
+        switch (c) {
+            case '\'':
+            case '\"':
+            case '`':
+                while (position < end) {
+                    char q = sql.charAt(position++);
+                    if (q == '\\') {
+                        position++;
+                    } else if (q == c) {
+                        return QUOTED;
+                    }
+                }
+                position = end;
+                return UNTERMINATED;
+            case '#':
+                return skipLine();
+            case '-':
+                if (position < end && sql.charAt(position) == '-') {
+                    return skipLine();
+                }
+                return SYMBOL;
+            case '/':
+                if (position < end && sql.charAt(position) == '*') {
+                    int close = sql.indexOf("*/", position + 1);
+                    position = close < 0 || close + 2 > end ? end : close + 2;
+                    return COMMENT;
+                }
+                return SYMBOL;
+            case '(':
+                depth++;
+                return SYMBOL;
+            case ')':
+                depth--;
+                return SYMBOL;
+            default:
+                return SYMBOL;
+        }
+    }
+
+    private int skipLine() {
+        while (position < end && sql.charAt(position) != '\n') {
+            position++;
+        }
+        return COMMENT;
+    }
+
+    private static boolean isWordPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    // parentheses opened and not closed before the current position
+    int depth() {
+        return depth;
+    }
+
+    boolean isWord(String word) {
+        return position - start == word.length() && sql.regionMatches(true, start, word, 0, word.length());
+    }
+
+    boolean isSymbol(char symbol) {
+        return position - start == 1 && sql.charAt(start) == symbol;
+    }
+}
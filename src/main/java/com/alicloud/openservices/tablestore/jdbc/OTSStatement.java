@@ -1,28 +1,46 @@
 package com.alicloud.openservices.tablestore.jdbc;
 
+import com.alicloud.openservices.tablestore.ClientException;
+import com.alicloud.openservices.tablestore.TableStoreCallback;
 import com.alicloud.openservices.tablestore.TableStoreException;
 import com.alicloud.openservices.tablestore.model.sql.SQLQueryRequest;
 import com.alicloud.openservices.tablestore.model.sql.SQLQueryResponse;
 import com.alicloud.openservices.tablestore.model.sql.SQLStatementType;
 
 import java.sql.*;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 public class OTSStatement extends WrapperAdapter implements Statement {
 
-    private final OTSConnection connection;
+    final OTSConnection connection;
     private long syncClientWaitFutureTimeoutInMillis;
     private int maxFieldSize = 0;
     protected int resultSetMaxRows = 0;
+    private int fetchSize = 0;
+    private final int resultSetType;
     private OTSResultSet resultSet;
     private boolean isClosed = false;
+    protected boolean poolable = false;
     private SQLWarning warning = null;
+    private final Set<CompletableFuture<?>> requests = ConcurrentHashMap.newKeySet();
 
     OTSStatement(OTSConnection conn) {
+        this(conn, ResultSet.TYPE_FORWARD_ONLY);
+    }
+
+    OTSStatement(OTSConnection conn, int resultSetType) {
         connection = conn;
+        this.resultSetType = resultSetType;
         syncClientWaitFutureTimeoutInMillis = conn.config.getClientConfiguration().getSyncClientWaitFutureTimeoutInMillis();
     }
 
@@ -33,7 +51,10 @@ public class OTSStatement extends WrapperAdapter implements Statement {
 
     @Override
     public void cancel() throws SQLException {
-        throw new SQLFeatureNotSupportedException();
+        checkClosed();
+        for (CompletableFuture<?> request : requests) {
+            request.cancel(true);
+        }
     }
 
     @Override
@@ -50,6 +71,15 @@ public class OTSStatement extends WrapperAdapter implements Statement {
     public void close() {
         if (!isClosed) {
             isClosed = true;
+            closeResultSet();
+        }
+    }
+
+    // a spilled result set holds a temporary file until it is closed
+    private void closeResultSet() {
+        if (resultSet != null) {
+            resultSet.close();
+            resultSet = null;
         }
     }
 
@@ -97,22 +127,158 @@ public class OTSStatement extends WrapperAdapter implements Statement {
     @Override
     public boolean execute(String sql) throws SQLException {
         checkClosed();
+        closeResultSet();
+        OTSPageFetcher pages = newPageFetcher(sql, resultSetMaxRows);
+        CompletableFuture<SQLQueryResponse> request = pages != null ? pages.fetch() : sendRequest(appendLimit(sql, resultSetMaxRows));
+        track(request);
+        SQLQueryResponse response = waitForFuture(request);
+        resultSet = toResultSet(sql, response, resultSetMaxRows, pages);
+        return resultSet != null;
+    }
+
+    public CompletableFuture<OTSResultSet> executeQueryAsync(String sql) throws SQLException {
+        return executeQueryAsync(sql, ForkJoinPool.commonPool());
+    }
+
+    public CompletableFuture<OTSResultSet> executeQueryAsync(String sql, Executor executor) throws SQLException {
+        checkClosed();
+        int maxRows = resultSetMaxRows;
+        OTSPageFetcher pages = newPageFetcher(sql, maxRows);
+        CompletableFuture<SQLQueryResponse> request = pages != null ? pages.fetch() : sendRequest(appendLimit(sql, maxRows));
+        CompletableFuture<OTSResultSet> result = request.handleAsync((response, failure) -> {
+            try {
+                if (failure != null) {
+                    throw toSQLException(failure);
+                }
+                return toResultSet(sql, response, maxRows, pages);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+        // cancelling the returned future cancels the request as well
+        track(result);
+        result.whenComplete((res, e) -> {
+            if (result.isCancelled()) {
+                request.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    CompletableFuture<SQLQueryResponse> sendRequest(String sql) throws SQLException {
+        CompletableFuture<SQLQueryResponse> future = new CompletableFuture<>();
         SQLQueryRequest request = new SQLQueryRequest(sql);
         try {
-            Future<SQLQueryResponse> res = this.connection.otsClient.sqlQuery(request, null);
-            SQLQueryResponse response = waitForFuture(res);
-            if (response.getSQLStatementType() == SQLStatementType.SQL_SELECT
-                    || response.getSQLStatementType() == SQLStatementType.SQL_SHOW_TABLE
-                    || response.getSQLStatementType() == SQLStatementType.SQL_DESCRIBE_TABLE) {
-                resultSet = new OTSResultSet(this, response.getSQLResultSet(), resultSetMaxRows);
+            connection.getClient().sqlQuery(request, new TableStoreCallback<SQLQueryRequest, SQLQueryResponse>() {
+                @Override
+                public void onCompleted(SQLQueryRequest req, SQLQueryResponse res) {
+                    future.complete(res);
+                }
+
+                @Override
+                public void onFailed(SQLQueryRequest req, Exception ex) {
+                    future.completeExceptionally(ex);
+                }
+            });
+        } catch (TableStoreException | ClientException e) {
+            throw new SQLException(e);
+        }
+        return future;
+    }
+
+    // appends a LIMIT to plain top-level SELECTs, anything else is sent as is and truncated by the result set
+    static String appendLimit(String sql, int maxRows) {
+        if (maxRows <= 0) {
+            return sql;
+        }
+        String limitable = toLimitable(sql);
+        return limitable == null ? sql : limitable + " LIMIT " + maxRows;
+    }
+
+    // returns the query without trailing semicolons, or null if a LIMIT clause cannot be appended safely
+    static String toLimitable(String sql) {
+        int end = sql.length();
+        while (end > 0 && (Character.isWhitespace(sql.charAt(end - 1)) || sql.charAt(end - 1) == ';')) {
+            end--;
+        }
+        OTSSqlScanner scanner = new OTSSqlScanner(sql, end);
+        if (scanner.next() != OTSSqlScanner.WORD || !scanner.isWord("SELECT")) {
+            return null;
+        }
+        for (int token = scanner.next(); token != OTSSqlScanner.END; token = scanner.next()) {
+            switch (token) {
+                case OTSSqlScanner.UNTERMINATED:
+                case OTSSqlScanner.COMMENT:
+                    // comments could hide the appended clause
+                    return null;
+                case OTSSqlScanner.WORD:
+                    if (scanner.depth() == 0 && scanner.isWord("LIMIT")) {
+                        return null;
+                    }
+                    break;
+                case OTSSqlScanner.SYMBOL:
+                    if (scanner.isSymbol(';')) {
+                        return null;
+                    }
+                    break;
+            }
+        }
+        return scanner.depth() == 0 ? sql.substring(0, end) : null;
+    }
+
+    // the sdk future cannot be cancelled, a cancelled request stops waiting and drops the late response
+    void track(CompletableFuture<?> future) {
+        requests.add(future);
+        connection.requests.add(future);
+        future.whenComplete((res, e) -> {
+            requests.remove(future);
+            connection.requests.remove(future);
+        });
+    }
+
+    // every page runs the query again, so paging is opt-in and needs a top-level ORDER BY for the pages to line up.
+    // otherwise the query runs once and the fetch size is only a hint.
+    private OTSPageFetcher newPageFetcher(String sql, int maxRows) {
+        if (fetchSize <= 0 || resultSetType != ResultSet.TYPE_FORWARD_ONLY || !connection.config.isEnableFetchSizePaging()) {
+            return null;
+        }
+        String limitable = toLimitable(sql);
+        if (limitable == null || !hasTopLevelOrderBy(limitable)) {
+            return null;
+        }
+        return new OTSPageFetcher(this, limitable, fetchSize, maxRows);
+    }
+
+    // whether ORDER BY appears outside of quotes and parentheses
+    static boolean hasTopLevelOrderBy(String sql) {
+        OTSSqlScanner scanner = new OTSSqlScanner(sql, sql.length());
+        boolean afterOrder = false;
+        for (int token = scanner.next(); token != OTSSqlScanner.END; token = scanner.next()) {
+            boolean topLevelWord = token == OTSSqlScanner.WORD && scanner.depth() == 0;
+            if (afterOrder && topLevelWord && scanner.isWord("BY")) {
                 return true;
-            } else {
-                resultSet = null;
-                return false;
             }
-        } catch (TableStoreException e) {
-            throw new SQLException(e);
+            afterOrder = topLevelWord && scanner.isWord("ORDER");
+        }
+        return false;
+    }
+
+    private OTSResultSet toResultSet(String sql, SQLQueryResponse response, int maxRows, OTSPageFetcher pages) throws SQLException {
+        if (response.getSQLStatementType() == SQLStatementType.SQL_CREATE_TABLE
+                || response.getSQLStatementType() == SQLStatementType.SQL_DROP_TABLE
+                || response.getSQLStatementType() == SQLStatementType.SQL_ALTER_TABLE) {
+            // cached metadata of the table and table lists are stale now
+            OTSMetadataCache.INSTANCE.invalidate(connection.config.getEndPoint(), OTSMetadataCache.ddlTable(sql));
+            return null;
+        }
+        if (response.getSQLStatementType() == SQLStatementType.SQL_SELECT
+                || response.getSQLStatementType() == SQLStatementType.SQL_SHOW_TABLE
+                || response.getSQLStatementType() == SQLStatementType.SQL_DESCRIBE_TABLE) {
+            OTSResultSet resultSet = new OTSResultSet(this, response.getSQLResultSet(), maxRows, resultSetType, pages);
+            connection.track(resultSet);
+            return resultSet;
         }
+        return null;
     }
 
     @Override
@@ -145,12 +311,16 @@ public class OTSStatement extends WrapperAdapter implements Statement {
     @Override
     public int getFetchSize() throws SQLException {
         checkClosed();
-        return 0;
+        return fetchSize;
     }
 
     @Override
     public void setFetchSize(int rows) throws SQLException {
         checkClosed();
+        if (rows < 0) {
+            throw new SQLException("fetch size must be >= 0");
+        }
+        fetchSize = rows;
     }
 
     @Override
@@ -228,7 +398,7 @@ public class OTSStatement extends WrapperAdapter implements Statement {
 
     @Override
     public int getResultSetType() throws SQLException {
-        return ResultSet.TYPE_FORWARD_ONLY;
+        return resultSetType;
     }
 
     @Override
@@ -251,18 +421,20 @@ public class OTSStatement extends WrapperAdapter implements Statement {
     }
 
     @Override
-    public boolean isClosed() throws SQLException {
+    public boolean isClosed() {
         return isClosed;
     }
 
     @Override
     public boolean isPoolable() throws SQLException {
-        return false;
+        checkClosed();
+        return poolable;
     }
 
     @Override
     public void setPoolable(boolean poolable) throws SQLException {
-        throw new SQLFeatureNotSupportedException();
+        checkClosed();
+        this.poolable = poolable;
     }
 
     @Override
@@ -275,18 +447,44 @@ public class OTSStatement extends WrapperAdapter implements Statement {
         checkClosed();
     }
 
+    OTSConnectionConfiguration getConnectionConfiguration() {
+        return connection.config;
+    }
+
+    OTSMemoryTracker getResultSetMemory() {
+        return connection.resultSetMemory;
+    }
+
     protected void checkClosed() throws SQLException {
         if (isClosed) {
             throw new SQLException("the statement has been closed");
         }
     }
 
-    private <Res> Res waitForFuture(Future<Res> f) throws SQLException {
+    // failures of async requests are reported like the blocking api does
+    private static SQLException toSQLException(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof SQLException) {
+            return (SQLException) cause;
+        } else if (cause instanceof TableStoreException || cause instanceof ClientException) {
+            return new SQLException(cause);
+        } else if (cause instanceof CancellationException) {
+            return new SQLException("request cancelled", cause);
+        }
+        return new SQLException("request aborted", cause);
+    }
+
+    <Res> Res waitForFuture(Future<Res> f) throws SQLException {
         try {
             return f.get(syncClientWaitFutureTimeoutInMillis, TimeUnit.MILLISECONDS);
         } catch(InterruptedException e) {
             throw new SQLException("request interrupted", e);
+        } catch(CancellationException e) {
+            throw new SQLException("request cancelled", e);
         } catch(ExecutionException e) {
+            if (e.getCause() instanceof TableStoreException || e.getCause() instanceof ClientException) {
+                throw new SQLException(e.getCause());
+            }
             throw new SQLException("request aborted", e);
         } catch (TimeoutException e) {
             throw new SQLException("request timeout", e);
@@ -0,0 +1,115 @@
+package com.alicloud.openservices.tablestore.jdbc;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+
+// the parameter slots of a prepared statement. a closed poolable statement returns them to the template cache
+// and the next statement prepared with the same SQL reuses them, the statement objects themselves are never reused.
+final class OTSStatementParameters {
+
+    // kinds of parameter slots, unset parameters are interpolated as NULL
+    private static final byte UNSET = 0;
+    private static final byte OBJECT = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte BOOLEAN = 4;
+
+    private final OTSStatementTemplate template;
+    private final byte[] kinds;
+    // booleans are kept as 0 and 1
+    private final long[] longs;
+    private final double[] doubles;
+    private final Object[] objects;
+
+    OTSStatementParameters(OTSStatementTemplate template) {
+        this.template = template;
+        int count = template.getParameterCount();
+        this.kinds = new byte[count];
+        this.longs = new long[count];
+        this.doubles = new double[count];
+        this.objects = new Object[count];
+    }
+
+    OTSStatementTemplate getTemplate() {
+        return template;
+    }
+
+    int slot(int parameterIndex) throws SQLException {
+        if (parameterIndex < 1 || parameterIndex > kinds.length) {
+            throw new SQLException("parameter index out of range");
+        }
+        return parameterIndex - 1;
+    }
+
+    void setObject(int slot, Object x) {
+        kinds[slot] = OBJECT;
+        objects[slot] = x;
+    }
+
+    void setLong(int slot, long x) {
+        kinds[slot] = LONG;
+        longs[slot] = x;
+        objects[slot] = null;
+    }
+
+    void setDouble(int slot, double x) {
+        kinds[slot] = DOUBLE;
+        doubles[slot] = x;
+        objects[slot] = null;
+    }
+
+    void setBoolean(int slot, boolean x) {
+        kinds[slot] = BOOLEAN;
+        longs[slot] = x ? 1 : 0;
+        objects[slot] = null;
+    }
+
+    void clear() {
+        Arrays.fill(kinds, UNSET);
+        Arrays.fill(objects, null);
+    }
+
+    String interpolate() throws SQLException {
+        int count = template.getParameterCount();
+        if (count == 0) {
+            return template.getSql();
+        }
+        // sized for the bound values so that the builder does not grow
+        int length = template.getLiteralLength();
+        for (int i = 0; i < count; i++) {
+            length += sqlLength(i);
+        }
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < count; i++) {
+            builder.append(template.getSegment(i));
+            switch (kinds[i]) {
+                case LONG:
+                    builder.append(longs[i]);
+                    break;
+                case DOUBLE:
+                    builder.append(doubles[i]);
+                    break;
+                case BOOLEAN:
+                    builder.append(longs[i] != 0);
+                    break;
+                default:
+                    OTSLiteralEncoder.append(builder, objects[i]);
+            }
+        }
+        builder.append(template.getSegment(count));
+        return builder.toString();
+    }
+
+    private int sqlLength(int i) {
+        switch (kinds[i]) {
+            case LONG:
+                return 20;
+            case DOUBLE:
+                return 24;
+            case BOOLEAN:
+                return 5;
+            default:
+                return OTSLiteralEncoder.estimateLength(objects[i]);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.alicloud.openservices.tablestore.jdbc;
+
+import java.sql.SQLException;
+import java.util.List;
+
+// a prepared SQL text split at its placeholders, shared by every statement prepared with the same text
+final class OTSStatementTemplate {
+
+    private final String sql;
+    private final String[] segments;
+    private final int literalLength;
+
+    private OTSStatementTemplate(String sql, String[] segments) {
+        this.sql = sql;
+        this.segments = segments;
+        this.literalLength = sql.length() - (segments.length - 1);
+    }
+
+    static OTSStatementTemplate compile(String sql) throws SQLException {
+        List<Integer> placeholders = OTSPreparedStatement.findPlaceholders(sql);
+        String[] segments = new String[placeholders.size() + 1];
+        int beginIndex = 0;
+        for (int i = 0; i < placeholders.size(); i++) {
+            segments[i] = sql.substring(beginIndex, placeholders.get(i));
+            beginIndex = placeholders.get(i) + 1;
+        }
+        segments[placeholders.size()] = sql.substring(beginIndex);
+        return new OTSStatementTemplate(sql, segments);
+    }
+
+    String getSql() {
+        return sql;
+    }
+
+    int getParameterCount() {
+        return segments.length - 1;
+    }
+
+    // the literal text before parameter i, or after the last parameter for i == getParameterCount()
+    String getSegment(int i) {
+        return segments[i];
+    }
+
+    int getLiteralLength() {
+        return literalLength;
+    }
+}
@@ -0,0 +1,76 @@
+package com.alicloud.openservices.tablestore.jdbc;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+// templates of prepared statements by SQL text, the least recently used ones are evicted first. statements
+// themselves are not pooled: only the parameter slots of a closed poolable statement wait in the entry of its SQL,
+// and the next statement prepared with the same SQL reuses them behind a new statement object.
+class OTSTemplateCache {
+
+    private final IntSupplier maxSize;
+    private final LinkedHashMap<String, Entry> entries;
+
+    private static class Entry {
+        private final OTSStatementTemplate template;
+        private OTSStatementParameters idle;
+
+        Entry(OTSStatementTemplate template) {
+            this.template = template;
+        }
+    }
+
+    OTSTemplateCache(IntSupplier maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > OTSTemplateCache.this.maxSize.getAsInt();
+            }
+        };
+    }
+
+    synchronized OTSStatementTemplate template(String sql) throws SQLException {
+        if (sql == null) {
+            throw new SQLException("SQL String cannot be NULL");
+        }
+        Entry entry = entries.get(sql);
+        if (entry != null) {
+            return entry.template;
+        }
+        OTSStatementTemplate template = OTSStatementTemplate.compile(sql);
+        if (maxSize.getAsInt() > 0) {
+            entries.put(sql, new Entry(template));
+        }
+        return template;
+    }
+
+    // cleared pooled parameters of the SQL, or new ones
+    synchronized OTSStatementParameters take(String sql) throws SQLException {
+        Entry entry = sql == null ? null : entries.get(sql);
+        if (entry != null && entry.idle != null) {
+            OTSStatementParameters parameters = entry.idle;
+            entry.idle = null;
+            parameters.clear();
+            return parameters;
+        }
+        return new OTSStatementParameters(template(sql));
+    }
+
+    synchronized void release(OTSStatementParameters parameters) {
+        Entry entry = entries.get(parameters.getTemplate().getSql());
+        if (entry != null && entry.template == parameters.getTemplate()) {
+            entry.idle = parameters;
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+}
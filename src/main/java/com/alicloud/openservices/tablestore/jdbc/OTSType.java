@@ -1,8 +1,12 @@
 package com.alicloud.openservices.tablestore.jdbc;
 
 
+import com.alicloud.openservices.tablestore.model.ColumnType;
+
 import java.sql.SQLType;
 import java.sql.Types;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
 
 public enum OTSType implements SQLType {
     BOOLEAN("BOOLEAN", Types.BOOLEAN, Boolean.class, false, 3L, ""),
@@ -19,7 +23,17 @@ public enum OTSType implements SQLType {
     private final boolean isDecimal;
     private final String createParams;
     private final int jdbcType;
-    private long precision;
+    private final long precision;
+
+    // parsed type names, there are only a few distinct ones in practice
+    private static final int MAX_PARSED_TYPES = 1024;
+    private static final ConcurrentHashMap<String, OTSTypeDescriptor> PARSED_TYPES = new ConcurrentHashMap<>();
+    // result set columns
+    private static final OTSTypeDescriptor BOOLEAN_COLUMN = new OTSTypeDescriptor(BOOLEAN, BOOLEAN.precision);
+    private static final OTSTypeDescriptor INTEGER_COLUMN = new OTSTypeDescriptor(BIGINT, BIGINT.precision);
+    private static final OTSTypeDescriptor DOUBLE_COLUMN = new OTSTypeDescriptor(DOUBLE, DOUBLE.precision);
+    private static final OTSTypeDescriptor STRING_COLUMN = new OTSTypeDescriptor(VARCHAR, OTSDatabaseMetaData.MAX_STRING_LENGTH);
+    private static final OTSTypeDescriptor BINARY_COLUMN = new OTSTypeDescriptor(VARBINARY, OTSDatabaseMetaData.MAX_BINARY_LENGTH);
 
     OTSType(String mysqlTypeName, int jdbcType, Class<?> javaClass, boolean isDec, long precision, String createParams) {
         this.name = mysqlTypeName;
@@ -31,18 +45,38 @@ public enum OTSType implements SQLType {
     }
 
     public static OTSType getByName(String fullMysqlTypeName) {
-        String typeName = "";
+        return parse(fullMysqlTypeName).getType();
+    }
+
+    // the type and precision of a column type such as VARCHAR(1024), without a precision the default one of the type
+    static OTSTypeDescriptor parse(String fullMysqlTypeName) {
+        OTSTypeDescriptor descriptor = PARSED_TYPES.get(fullMysqlTypeName);
+        if (descriptor == null) {
+            descriptor = parseUncached(fullMysqlTypeName);
+            if (PARSED_TYPES.size() < MAX_PARSED_TYPES) {
+                PARSED_TYPES.putIfAbsent(fullMysqlTypeName, descriptor);
+            }
+        }
+        return descriptor;
+    }
+
+    private static OTSTypeDescriptor parseUncached(String fullMysqlTypeName) {
+        String typeName;
         long precision = 0;
-        if (fullMysqlTypeName.contains("(")) {
-            int paramBeginIndex = fullMysqlTypeName.indexOf("(");
-            int paramEndIndex = fullMysqlTypeName.indexOf(")");
+        int paramBeginIndex = fullMysqlTypeName.indexOf('(');
+        if (paramBeginIndex >= 0) {
+            int paramEndIndex = fullMysqlTypeName.indexOf(')', paramBeginIndex);
             typeName = fullMysqlTypeName.substring(0, paramBeginIndex).trim();
-            precision = Integer.parseInt(fullMysqlTypeName.substring(paramBeginIndex + 1, paramEndIndex));
+            // DOUBLE(M,D) has a scale after the precision
+            String params = fullMysqlTypeName.substring(paramBeginIndex + 1,
+                    paramEndIndex < 0 ? fullMysqlTypeName.length() : paramEndIndex);
+            int comma = params.indexOf(',');
+            precision = Long.parseLong((comma < 0 ? params : params.substring(0, comma)).trim());
         } else {
-            typeName = fullMysqlTypeName;
+            typeName = fullMysqlTypeName.trim();
         }
         OTSType type = UNKNOWN;
-        String typeNameUpperCase = typeName.toUpperCase();
+        String typeNameUpperCase = typeName.toUpperCase(Locale.ROOT);
         if (typeNameUpperCase.equals("BIGINT")) {
             type = BIGINT;
         } else if (typeNameUpperCase.equals("DOUBLE")) {
@@ -58,10 +92,25 @@ public enum OTSType implements SQLType {
         } else if (typeNameUpperCase.equals("TINYINT")) {
             type = BOOLEAN;
         }
-        if (precision > 0) {
-            type.precision = precision;
+        return new OTSTypeDescriptor(type, precision > 0 ? precision : type.precision);
+    }
+
+    // the type of a result set column, or null for the time types that have no OTSType
+    static OTSTypeDescriptor of(ColumnType columnType) {
+        switch (columnType) {
+            case BOOLEAN:
+                return BOOLEAN_COLUMN;
+            case INTEGER:
+                return INTEGER_COLUMN;
+            case DOUBLE:
+                return DOUBLE_COLUMN;
+            case STRING:
+                return STRING_COLUMN;
+            case BINARY:
+                return BINARY_COLUMN;
+            default:
+                return null;
         }
-        return type;
     }
 
     public static SQLType getByJdbcType(int jdbcType) {
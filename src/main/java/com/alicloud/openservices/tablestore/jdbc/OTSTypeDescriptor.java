@@ -0,0 +1,53 @@
+package com.alicloud.openservices.tablestore.jdbc;
+
+import java.util.Objects;
+
+// a type with the precision of one column, such as VARCHAR(1024). instances are immutable and shared.
+final class OTSTypeDescriptor {
+
+    private final OTSType type;
+    private final long precision;
+
+    OTSTypeDescriptor(OTSType type, long precision) {
+        this.type = type;
+        this.precision = precision;
+    }
+
+    OTSType getType() {
+        return type;
+    }
+
+    String getName() {
+        return type.getName();
+    }
+
+    int getJdbcType() {
+        return type.getJdbcType();
+    }
+
+    long getPrecision() {
+        return precision;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OTSTypeDescriptor)) {
+            return false;
+        }
+        OTSTypeDescriptor that = (OTSTypeDescriptor) o;
+        return type == that.type && precision == that.precision;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, precision);
+    }
+
+    @Override
+    public String toString() {
+        return type.getName() + "(" + precision + ")";
+    }
+}
@@ -0,0 +1,495 @@
+package com.alicloud.openservices.tablestore.jdbc;
+
+import com.alicloud.openservices.tablestore.model.ColumnType;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+// converts the non-null cells of one column for the ResultSet getters, chosen once from the column type.
+// subclasses read their own value class directly and fall back to the generic conversions otherwise.
+class OTSValueConverter {
+
+    // short binaries decoded to strings are shared, enum-like columns repeat a few values
+    private static final int DEDUP_MAX_LENGTH = 64;
+    private static final int DEDUP_MAX_ENTRIES = 1024;
+
+    private final String typeName;
+    private Map<ByteBuffer, String> decoded;
+
+    OTSValueConverter(String typeName) {
+        this.typeName = typeName;
+    }
+
+    static OTSValueConverter forColumn(ColumnType type, String typeName) {
+        if (type == null) {
+            return new OTSValueConverter(typeName);
+        }
+        switch (type) {
+            case INTEGER:
+                return new LongConverter(typeName);
+            case DOUBLE:
+                return new DoubleConverter(typeName);
+            case BOOLEAN:
+                return new BooleanConverter(typeName);
+            case STRING:
+                return new StringConverter(typeName);
+            case BINARY:
+                return new BinaryConverter(typeName);
+            case DATETIME:
+                return new DateTimeConverter(typeName);
+            case TIME:
+                return new TimeConverter(typeName);
+            case DATE:
+                return new DateConverter(typeName);
+            default:
+                return new OTSValueConverter(typeName);
+        }
+    }
+
+    long getLong(Object value) throws SQLException {
+        if (value instanceof Long) {
+            return (Long) value;
+        } else if (value instanceof Double) {
+            return ((Double) value).longValue();
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? 1L : 0L;
+        } else if (value instanceof String) {
+            return Long.parseLong((String) value);
+        } else if (value instanceof ByteBuffer) {
+            return parseLong((ByteBuffer) value);
+        }
+        throw unsupported(Long.class);
+    }
+
+    double getDouble(Object value) throws SQLException {
+        if (value instanceof Double) {
+            return (Double) value;
+        } else if (value instanceof Long) {
+            return (double) (Long) value;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? 1.0 : 0.0;
+        } else if (value instanceof String) {
+            return Double.parseDouble((String) value);
+        } else if (value instanceof ByteBuffer) {
+            return parseDouble((ByteBuffer) value);
+        }
+        throw unsupported(Double.class);
+    }
+
+    boolean getBoolean(Object value) throws SQLException {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        } else if (value instanceof Long) {
+            return (Long) value != 0;
+        } else if (value instanceof Double) {
+            return (Double) value != 0;
+        } else if (value instanceof String) {
+            return Boolean.parseBoolean((String) value);
+        } else if (value instanceof ByteBuffer) {
+            return parseBoolean((ByteBuffer) value);
+        }
+        throw unsupported(Boolean.class);
+    }
+
+    BigDecimal getBigDecimal(Object value) throws SQLException {
+        if (value instanceof Boolean || value instanceof Long) {
+            return new BigDecimal(getLong(value));
+        } else if (value instanceof Double) {
+            return BigDecimal.valueOf((Double) value);
+        } else if (value instanceof String) {
+            return new BigDecimal((String) value);
+        } else if (value instanceof ByteBuffer) {
+            return parseBigDecimal((ByteBuffer) value);
+        }
+        throw unsupported(BigDecimal.class);
+    }
+
+    String getString(Object value) throws SQLException {
+        if (value instanceof String) {
+            return (String) value;
+        } else if (value instanceof ByteBuffer) {
+            return decode((ByteBuffer) value);
+        } else if (value instanceof ZonedDateTime) {
+            return Timestamp.valueOf(((ZonedDateTime) value).toLocalDateTime()).toString();
+        } else if (value instanceof Duration) {
+            return String.valueOf(LocalTime.MIDNIGHT.plus((Duration) value));
+        } else if (value instanceof Long
+                || value instanceof Double
+                || value instanceof Boolean
+                || value instanceof LocalDate) {
+            return value.toString();
+        }
+        throw unsupported(String.class);
+    }
+
+    byte[] getBytes(Object value) throws SQLException {
+        if (value instanceof ByteBuffer) {
+            return unwrapByteBuffer((ByteBuffer) value);
+        } else if (value instanceof ZonedDateTime) {
+            return Timestamp.valueOf(((ZonedDateTime) value).toLocalDateTime()).toString().getBytes(StandardCharsets.UTF_8);
+        } else if (value instanceof Duration) {
+            return String.valueOf(LocalTime.MIDNIGHT.plus((Duration) value)).getBytes(StandardCharsets.UTF_8);
+        } else if (value instanceof Long
+                || value instanceof Double
+                || value instanceof Boolean
+                || value instanceof String
+                || value instanceof LocalDate) {
+            return value.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        throw unsupported(byte[].class);
+    }
+
+    Date getDate(Object value) throws SQLException {
+        if (value instanceof String) {
+            return Date.valueOf((String) value);
+        } else if (value instanceof LocalDate) {
+            return Date.valueOf((LocalDate) value);
+        }
+        throw unsupported(Date.class);
+    }
+
+    Time getTime(Object value) throws SQLException {
+        if (value instanceof String) {
+            return Time.valueOf(LocalTime.parse((String) value));
+        } else if (value instanceof Duration) {
+            return Time.valueOf(LocalTime.MIDNIGHT.plus((Duration) value));
+        }
+        throw unsupported(Time.class);
+    }
+
+    Timestamp getTimestamp(Object value) throws SQLException {
+        if (value instanceof String) {
+            return Timestamp.valueOf((String) value);
+        } else if (value instanceof ZonedDateTime) {
+            return Timestamp.valueOf(((ZonedDateTime) value).toLocalDateTime());
+        }
+        throw unsupported(Timestamp.class);
+    }
+
+    ByteBuffer getByteBuffer(Object value) throws SQLException {
+        if (value instanceof ByteBuffer) {
+            return ((ByteBuffer) value).asReadOnlyBuffer();
+        }
+        return ByteBuffer.wrap(getBytes(value)).asReadOnlyBuffer();
+    }
+
+    LocalDate getLocalDate(Object value) throws SQLException {
+        if (value instanceof LocalDate) {
+            return (LocalDate) value;
+        } else if (value instanceof ZonedDateTime) {
+            return ((ZonedDateTime) value).toLocalDate();
+        } else if (value instanceof String) {
+            return LocalDate.parse((String) value);
+        }
+        throw unsupported(LocalDate.class);
+    }
+
+    LocalTime getLocalTime(Object value) throws SQLException {
+        if (value instanceof Duration) {
+            return LocalTime.MIDNIGHT.plus((Duration) value);
+        } else if (value instanceof ZonedDateTime) {
+            return ((ZonedDateTime) value).toLocalTime();
+        } else if (value instanceof String) {
+            return LocalTime.parse((String) value);
+        }
+        throw unsupported(LocalTime.class);
+    }
+
+    Duration getDuration(Object value) throws SQLException {
+        if (value instanceof Duration) {
+            return (Duration) value;
+        } else if (value instanceof String) {
+            return Duration.ofNanos(LocalTime.parse((String) value).toNanoOfDay());
+        }
+        throw unsupported(Duration.class);
+    }
+
+    ZonedDateTime getZonedDateTime(Object value) throws SQLException {
+        if (value instanceof ZonedDateTime) {
+            return (ZonedDateTime) value;
+        }
+        throw unsupported(ZonedDateTime.class);
+    }
+
+    LocalDateTime getLocalDateTime(Object value) throws SQLException {
+        if (value instanceof ZonedDateTime) {
+            return ((ZonedDateTime) value).toLocalDateTime();
+        } else if (value instanceof LocalDate) {
+            return ((LocalDate) value).atStartOfDay();
+        } else if (value instanceof String) {
+            return Timestamp.valueOf((String) value).toLocalDateTime();
+        }
+        throw unsupported(LocalDateTime.class);
+    }
+
+    SQLException unsupported(Class<?> target) {
+        return new SQLException(String.format("Unsupported conversion from %s to %s", typeName, target.getName()));
+    }
+
+    String decode(ByteBuffer buffer) {
+        if (buffer.remaining() > DEDUP_MAX_LENGTH) {
+            return decodeUtf8(buffer);
+        }
+        if (decoded == null) {
+            decoded = new HashMap<>();
+        }
+        String value = decoded.get(buffer);
+        if (value == null) {
+            value = decodeUtf8(buffer);
+            if (decoded.size() < DEDUP_MAX_ENTRIES) {
+                // copy the key so the cache does not pin the response buffer
+                decoded.put(ByteBuffer.wrap(unwrapByteBuffer(buffer)), value);
+            }
+        }
+        return value;
+    }
+
+    static String decodeUtf8(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), StandardCharsets.UTF_8);
+        }
+        return StandardCharsets.UTF_8.decode(buffer.duplicate()).toString();
+    }
+
+    static long parseLong(ByteBuffer buffer) {
+        int start = buffer.position();
+        int end = buffer.limit();
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+        if (i == end) {
+            throw new NumberFormatException("For input string: \"" + decodeUtf8(buffer) + "\"");
+        }
+        // accumulate negatively so that Long.MIN_VALUE fits
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long result = 0;
+        for (; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9 || result < limit / 10 || result * 10 < limit + digit) {
+                throw new NumberFormatException("For input string: \"" + decodeUtf8(buffer) + "\"");
+            }
+            result = result * 10 - digit;
+        }
+        return negative ? result : -result;
+    }
+
+    static double parseDouble(ByteBuffer buffer) {
+        // plain integers up to 15 digits are exact as doubles, anything else goes through the JDK parser
+        int start = buffer.position();
+        int end = buffer.limit();
+        int digits = end - start - (start < end && buffer.get(start) == '-' ? 1 : 0);
+        if (digits > 0 && digits <= 15) {
+            boolean integral = true;
+            for (int i = end - digits; i < end && integral; i++) {
+                byte b = buffer.get(i);
+                integral = b >= '0' && b <= '9';
+            }
+            if (integral) {
+                return (double) parseLong(buffer);
+            }
+        }
+        return Double.parseDouble(decodeUtf8(buffer));
+    }
+
+    static boolean parseBoolean(ByteBuffer buffer) {
+        if (buffer.remaining() != 4) {
+            return false;
+        }
+        int p = buffer.position();
+        return (buffer.get(p) | 0x20) == 't' && (buffer.get(p + 1) | 0x20) == 'r'
+                && (buffer.get(p + 2) | 0x20) == 'u' && (buffer.get(p + 3) | 0x20) == 'e';
+    }
+
+    static BigDecimal parseBigDecimal(ByteBuffer buffer) {
+        char[] chars = new char[buffer.remaining()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) (buffer.get(buffer.position() + i) & 0xFF);
+        }
+        return new BigDecimal(chars);
+    }
+
+    static byte[] unwrapByteBuffer(ByteBuffer buffer) {
+        ByteBuffer copy = buffer.duplicate();
+        byte[] bytes = new byte[copy.remaining()];
+        copy.get(bytes);
+        return bytes;
+    }
+
+    private static final class LongConverter extends OTSValueConverter {
+        LongConverter(String typeName) {
+            super(typeName);
+        }
+
+        @Override
+        long getLong(Object value) throws SQLException {
+            return value instanceof Long ? (Long) value : super.getLong(value);
+        }
+
+        @Override
+        double getDouble(Object value) throws SQLException {
+            return value instanceof Long ? (double) (Long) value : super.getDouble(value);
+        }
+
+        @Override
+        boolean getBoolean(Object value) throws SQLException {
+            return value instanceof Long ? (Long) value != 0 : super.getBoolean(value);
+        }
+
+        @Override
+        BigDecimal getBigDecimal(Object value) throws SQLException {
+            return value instanceof Long ? BigDecimal.valueOf((Long) value) : super.getBigDecimal(value);
+        }
+
+        @Override
+        String getString(Object value) throws SQLException {
+            return value instanceof Long ? Long.toString((Long) value) : super.getString(value);
+        }
+    }
+
+    private static final class DoubleConverter extends OTSValueConverter {
+        DoubleConverter(String typeName) {
+            super(typeName);
+        }
+
+        @Override
+        long getLong(Object value) throws SQLException {
+            return value instanceof Double ? ((Double) value).longValue() : super.getLong(value);
+        }
+
+        @Override
+        double getDouble(Object value) throws SQLException {
+            return value instanceof Double ? (Double) value : super.getDouble(value);
+        }
+
+        @Override
+        boolean getBoolean(Object value) throws SQLException {
+            return value instanceof Double ? (Double) value != 0 : super.getBoolean(value);
+        }
+
+        @Override
+        BigDecimal getBigDecimal(Object value) throws SQLException {
+            return value instanceof Double ? BigDecimal.valueOf((Double) value) : super.getBigDecimal(value);
+        }
+
+        @Override
+        String getString(Object value) throws SQLException {
+            return value instanceof Double ? Double.toString((Double) value) : super.getString(value);
+        }
+    }
+
+    private static final class BooleanConverter extends OTSValueConverter {
+        BooleanConverter(String typeName) {
+            super(typeName);
+        }
+
+        @Override
+        long getLong(Object value) throws SQLException {
+            return value instanceof Boolean ? ((Boolean) value ? 1L : 0L) : super.getLong(value);
+        }
+
+        @Override
+        boolean getBoolean(Object value) throws SQLException {
+            return value instanceof Boolean ? (Boolean) value : super.getBoolean(value);
+        }
+
+        @Override
+        String getString(Object value) throws SQLException {
+            return value instanceof Boolean ? Boolean.toString((Boolean) value) : super.getString(value);
+        }
+    }
+
+    private static final class StringConverter extends OTSValueConverter {
+        StringConverter(String typeName) {
+            super(typeName);
+        }
+
+        @Override
+        long getLong(Object value) throws SQLException {
+            return value instanceof String ? Long.parseLong((String) value) : super.getLong(value);
+        }
+
+        @Override
+        double getDouble(Object value) throws SQLException {
+            return value instanceof String ? Double.parseDouble((String) value) : super.getDouble(value);
+        }
+
+        @Override
+        String getString(Object value) throws SQLException {
+            return value instanceof String ? (String) value : super.getString(value);
+        }
+
+        @Override
+        byte[] getBytes(Object value) throws SQLException {
+            return value instanceof String ? ((String) value).getBytes(StandardCharsets.UTF_8) : super.getBytes(value);
+        }
+    }
+
+    private static final class BinaryConverter extends OTSValueConverter {
+        BinaryConverter(String typeName) {
+            super(typeName);
+        }
+
+        @Override
+        String getString(Object value) throws SQLException {
+            return value instanceof ByteBuffer ? decode((ByteBuffer) value) : super.getString(value);
+        }
+
+        @Override
+        byte[] getBytes(Object value) throws SQLException {
+            return value instanceof ByteBuffer ? unwrapByteBuffer((ByteBuffer) value) : super.getBytes(value);
+        }
+    }
+
+    private static final class DateTimeConverter extends OTSValueConverter {
+        DateTimeConverter(String typeName) {
+            super(typeName);
+        }
+
+        @Override
+        Timestamp getTimestamp(Object value) throws SQLException {
+            return value instanceof ZonedDateTime ? Timestamp.valueOf(((ZonedDateTime) value).toLocalDateTime()) : super.getTimestamp(value);
+        }
+
+        @Override
+        String getString(Object value) throws SQLException {
+            return value instanceof ZonedDateTime ? getTimestamp(value).toString() : super.getString(value);
+        }
+    }
+
+    private static final class TimeConverter extends OTSValueConverter {
+        TimeConverter(String typeName) {
+            super(typeName);
+        }
+
+        @Override
+        Time getTime(Object value) throws SQLException {
+            return value instanceof Duration ? Time.valueOf(LocalTime.MIDNIGHT.plus((Duration) value)) : super.getTime(value);
+        }
+    }
+
+    private static final class DateConverter extends OTSValueConverter {
+        DateConverter(String typeName) {
+            super(typeName);
+        }
+
+        @Override
+        Date getDate(Object value) throws SQLException {
+            return value instanceof LocalDate ? Date.valueOf((LocalDate) value) : super.getDate(value);
+        }
+    }
+}
@@ -10,6 +10,6 @@ public class StringUtils {
         if (quoteCharLength == 0) {
             return identifier;
         }
-        return quoteChar + identifier.replaceAll(quoteChar, quoteChar + quoteChar) + quoteChar;
+        return quoteChar + identifier.replace(quoteChar, quoteChar + quoteChar) + quoteChar;
     }
 }
@@ -1,6 +1,7 @@
 package com.alicloud.openservices.tablestore.jdbc;
 
 import com.alicloud.openservices.tablestore.model.ColumnType;
+import com.alicloud.openservices.tablestore.model.sql.SQLResultSet;
 import org.apache.commons.io.IOUtils;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -12,11 +13,16 @@ import java.io.Reader;
 import java.math.BigDecimal;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.*;
 import java.time.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 public class OTSResultSetTest {
 
@@ -572,4 +578,474 @@ public class OTSResultSetTest {
         Assert.assertThrows(SQLFeatureNotSupportedException.class, () -> resultSet.updateTimestamp(1, null));
         Assert.assertThrows(SQLFeatureNotSupportedException.class, () -> resultSet.updateTimestamp(null, null));
     }
+
+    @Test
+    public void testStreaming() throws SQLException {
+        SQLResultSet source = MockAsyncClient.response(Collections.singletonList("id"), Collections.singletonList(ColumnType.INTEGER),
+                Arrays.asList(new Object[]{1L}, new Object[]{2L}, new Object[]{3L})).getSQLResultSet();
+        ResultSet resultSet = new OTSResultSet(null, source, 0, ResultSet.TYPE_FORWARD_ONLY);
+        Assert.assertEquals(ResultSet.TYPE_FORWARD_ONLY, resultSet.getType());
+        Assert.assertThrows(SQLException.class, () -> resultSet.getLong(1));
+        // rows are read from the source one at a time
+        Assert.assertTrue(resultSet.next());
+        Assert.assertTrue(source.hasNext());
+        Assert.assertEquals(1, resultSet.getLong("id"));
+        Assert.assertTrue(resultSet.isFirst());
+        Assert.assertFalse(resultSet.isLast());
+        Assert.assertTrue(resultSet.next());
+        Assert.assertEquals(2, resultSet.getLong(1));
+        Assert.assertTrue(resultSet.next());
+        Assert.assertEquals(3, resultSet.getLong(1));
+        Assert.assertTrue(resultSet.isLast());
+        Assert.assertEquals(3, resultSet.getRow());
+        Assert.assertFalse(resultSet.next());
+        Assert.assertFalse(resultSet.next());
+        Assert.assertThrows(SQLException.class, () -> resultSet.getLong(1));
+        // scrolling is not allowed
+        Assert.assertThrows(SQLException.class, resultSet::first);
+        Assert.assertThrows(SQLException.class, resultSet::last);
+        Assert.assertThrows(SQLException.class, resultSet::beforeFirst);
+        Assert.assertThrows(SQLException.class, resultSet::afterLast);
+        Assert.assertThrows(SQLException.class, () -> resultSet.absolute(1));
+
+        // max rows
+        source = MockAsyncClient.response(Collections.singletonList("id"), Collections.singletonList(ColumnType.INTEGER),
+                Arrays.asList(new Object[]{1L}, new Object[]{2L}, new Object[]{3L})).getSQLResultSet();
+        ResultSet limited = new OTSResultSet(null, source, 2, ResultSet.TYPE_FORWARD_ONLY);
+        TestUtils.assertResultSet(limited, new String[]{"id"}, new Object[][]{{1}, {2}});
+    }
+
+    @Test
+    public void testScrollInsensitive() throws SQLException {
+        SQLResultSet source = MockAsyncClient.response(Collections.singletonList("id"), Collections.singletonList(ColumnType.INTEGER),
+                Arrays.asList(new Object[]{1L}, new Object[]{2L}, new Object[]{3L})).getSQLResultSet();
+        ResultSet resultSet = new OTSResultSet(null, source, 2, ResultSet.TYPE_SCROLL_INSENSITIVE);
+        Assert.assertEquals(ResultSet.TYPE_SCROLL_INSENSITIVE, resultSet.getType());
+        Assert.assertTrue(resultSet.last());
+        Assert.assertEquals(2, resultSet.getLong(1));
+        Assert.assertTrue(resultSet.first());
+        Assert.assertEquals(1, resultSet.getLong(1));
+        Assert.assertTrue(resultSet.absolute(-1));
+        Assert.assertEquals(2, resultSet.getLong(1));
+        resultSet.beforeFirst();
+        TestUtils.assertResultSet(resultSet, new String[]{"id"}, new Object[][]{{1}, {2}});
+    }
+
+    @Test
+    public void testColumnar() throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            if (i % 10 == 0) {
+                rows.add(new Object[]{null, null, null, null, null, null});
+            } else {
+                rows.add(new Object[]{(long) i, i / 2.0, i % 2 == 0, "s" + i, ByteBuffer.wrap(("b" + i).getBytes()), LocalDate.ofEpochDay(i)});
+            }
+        }
+        SQLResultSet source = MockAsyncClient.response(Arrays.asList("l", "d", "b", "s", "bin", "date"),
+                Arrays.asList(ColumnType.INTEGER, ColumnType.DOUBLE, ColumnType.BOOLEAN, ColumnType.STRING, ColumnType.BINARY, ColumnType.DATE),
+                rows).getSQLResultSet();
+        ResultSet resultSet = new OTSResultSet(null, source, 0, ResultSet.TYPE_SCROLL_INSENSITIVE);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(resultSet.next());
+            if (i % 10 == 0) {
+                Assert.assertEquals(0, resultSet.getLong(1));
+                Assert.assertTrue(resultSet.wasNull());
+                Assert.assertEquals(0, resultSet.getDouble(2), EPSILON);
+                Assert.assertTrue(resultSet.wasNull());
+                Assert.assertFalse(resultSet.getBoolean(3));
+                Assert.assertTrue(resultSet.wasNull());
+                Assert.assertNull(resultSet.getString(4));
+                Assert.assertNull(resultSet.getBytes(5));
+                Assert.assertNull(resultSet.getObject(6));
+                continue;
+            }
+            Assert.assertEquals(i, resultSet.getLong(1));
+            Assert.assertFalse(resultSet.wasNull());
+            Assert.assertEquals((long) i, resultSet.getObject(1));
+            Assert.assertEquals(i / 2.0, resultSet.getDouble(2), EPSILON);
+            Assert.assertEquals(i / 2.0, (Double) resultSet.getObject(2), EPSILON);
+            Assert.assertEquals(i % 2 == 0, resultSet.getBoolean(3));
+            Assert.assertEquals("s" + i, resultSet.getString(4));
+            Assert.assertArrayEquals(("b" + i).getBytes(), resultSet.getBytes(5));
+            Assert.assertEquals("b" + i, resultSet.getString(5));
+            Assert.assertEquals(LocalDate.ofEpochDay(i), resultSet.getObject(6));
+            // cross type conversions still go through the generic path
+            Assert.assertEquals((double) i, resultSet.getDouble(1), EPSILON);
+            Assert.assertEquals(i / 2, resultSet.getLong(2));
+        }
+        Assert.assertFalse(resultSet.next());
+        Assert.assertTrue(resultSet.absolute(2));
+        Assert.assertEquals(1, resultSet.getLong(1));
+
+        // values that do not match the declared type are kept as objects
+        source = MockAsyncClient.response(Collections.singletonList("l"), Collections.singletonList(ColumnType.INTEGER),
+                Arrays.asList(new Object[]{1L}, new Object[]{null}, new Object[]{"2"}, new Object[]{3L})).getSQLResultSet();
+        ResultSet mixed = new OTSResultSet(null, source, 0, ResultSet.TYPE_SCROLL_INSENSITIVE);
+        TestUtils.assertResultSet(mixed, new String[]{"l"}, new Object[][]{{1}, {null}, {2}, {3}});
+        Assert.assertTrue(mixed.absolute(3));
+        Assert.assertEquals("2", mixed.getObject(1));
+
+        // repeated short strings share one instance
+        source = MockAsyncClient.response(Collections.singletonList("s"), Collections.singletonList(ColumnType.STRING),
+                Arrays.asList(new Object[]{new String("OK")}, new Object[]{new String("OK")})).getSQLResultSet();
+        ResultSet strings = new OTSResultSet(null, source, 0, ResultSet.TYPE_SCROLL_INSENSITIVE);
+        Assert.assertTrue(strings.next());
+        String first = strings.getString(1);
+        Assert.assertTrue(strings.next());
+        Assert.assertSame(first, strings.getString(1));
+    }
+
+    @Test
+    public void testDictionaryEncoding() throws SQLException {
+        MockAsyncClient client = new MockAsyncClient(query -> MockAsyncClient.response(Collections.singletonList("s"),
+                Collections.singletonList(ColumnType.STRING),
+                Arrays.asList(new Object[]{new String("a")}, new Object[]{null}, new Object[]{new String("b")},
+                        new Object[]{new String("a")}, new Object[]{new String("c")}, new Object[]{new String("b")})));
+        try {
+            OTSConnection connection = MockAsyncClient.connect(client);
+            connection.setClientInfo(OTSConnection.DICTIONARY_ENCODING_THRESHOLD, "2");
+            Assert.assertSame(client, connection.otsClient);
+            Statement statement = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            ResultSet resultSet = statement.executeQuery("SELECT s FROM t");
+            // the third distinct value exceeds the threshold, the column falls back to plain strings
+            TestUtils.assertResultSet(resultSet, new String[]{"s"}, new Object[][]{{"a"}, {null}, {"b"}, {"a"}, {"c"}, {"b"}});
+            Assert.assertTrue(resultSet.absolute(1));
+            String a = resultSet.getString(1);
+            Assert.assertTrue(resultSet.absolute(4));
+            Assert.assertSame(a, resultSet.getString(1));
+
+            // disabled
+            connection.setClientInfo(OTSConnection.DICTIONARY_ENCODING_THRESHOLD, "0");
+            resultSet = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY).executeQuery("SELECT s FROM t");
+            TestUtils.assertResultSet(resultSet, new String[]{"s"}, new Object[][]{{"a"}, {null}, {"b"}, {"a"}, {"c"}, {"b"}});
+            connection.close();
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testSpill() throws Exception {
+        ZonedDateTime dateTime = ZonedDateTime.of(LocalDateTime.of(2023, 1, 2, 3, 4, 5, 6000), ZoneOffset.ofHours(8));
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            if (i % 10 == 0) {
+                rows.add(new Object[]{null, null, null, null, null, null, null, null});
+            } else {
+                rows.add(new Object[]{(long) i, i / 2.0, i % 2 == 0, "s" + i, ByteBuffer.wrap(("b" + i).getBytes()),
+                        dateTime.plusDays(i), Duration.ofSeconds(i, 7), LocalDate.ofEpochDay(i)});
+            }
+        }
+        MockAsyncClient client = new MockAsyncClient(query -> MockAsyncClient.response(Arrays.asList("l", "d", "b", "s", "bin", "dt", "t", "date"),
+                Arrays.asList(ColumnType.INTEGER, ColumnType.DOUBLE, ColumnType.BOOLEAN, ColumnType.STRING, ColumnType.BINARY,
+                        ColumnType.DATETIME, ColumnType.TIME, ColumnType.DATE),
+                rows));
+        Path tmp = Paths.get(System.getProperty("java.io.tmpdir"));
+        int files = spillFiles(tmp);
+        try {
+            OTSConnection connection = MockAsyncClient.connect(client);
+            connection.setClientInfo(OTSConnection.SPILL_THRESHOLD_IN_BYTES, "1000");
+            Statement statement = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            ResultSet resultSet = statement.executeQuery("SELECT * FROM t");
+            Assert.assertEquals(files + 1, spillFiles(tmp));
+            Assert.assertTrue(resultSet.last());
+            Assert.assertEquals(100, resultSet.getRow());
+            // random access in both directions
+            for (int i : new int[]{57, 3, 99, 10, 1, 42}) {
+                Assert.assertTrue(resultSet.absolute(i + 1));
+                if (i % 10 == 0) {
+                    for (int column = 1; column <= 8; column++) {
+                        Assert.assertNull(resultSet.getObject(column));
+                    }
+                    continue;
+                }
+                Assert.assertEquals(i, resultSet.getLong(1));
+                Assert.assertEquals(i / 2.0, resultSet.getDouble(2), EPSILON);
+                Assert.assertEquals(i % 2 == 0, resultSet.getBoolean(3));
+                Assert.assertEquals("s" + i, resultSet.getString(4));
+                Assert.assertArrayEquals(("b" + i).getBytes(), resultSet.getBytes(5));
+                Assert.assertArrayEquals(("b" + i).getBytes(), resultSet.getBytes(5));
+                Assert.assertEquals(dateTime.plusDays(i), resultSet.getObject(6));
+                Assert.assertEquals(Duration.ofSeconds(i, 7), resultSet.getObject(7));
+                Assert.assertEquals(LocalDate.ofEpochDay(i), resultSet.getObject(8));
+            }
+            // the next query closes the previous result set and deletes its file
+            statement.executeQuery("SELECT * FROM t").close();
+            Assert.assertEquals(files, spillFiles(tmp));
+
+            // results within the budget stay in memory
+            statement.setMaxRows(5);
+            resultSet = statement.executeQuery("SELECT * FROM t");
+            Assert.assertTrue(resultSet.last());
+            Assert.assertEquals(5, resultSet.getRow());
+            Assert.assertEquals(files, spillFiles(tmp));
+            statement.close();
+            Assert.assertTrue(resultSet.isClosed());
+            Assert.assertEquals(files, spillFiles(tmp));
+
+            connection.setClientInfo(OTSConnection.SPILL_THRESHOLD_IN_BYTES, "0");
+            connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY).executeQuery("SELECT * FROM t");
+            Assert.assertEquals(files, spillFiles(tmp));
+            connection.close();
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testSpillReleasesMemory() throws Exception {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            rows.add(new Object[]{(long) i, String.format("%0100d", i)});
+        }
+        MockAsyncClient client = new MockAsyncClient(query -> MockAsyncClient.response(Arrays.asList("l", "s"),
+                Arrays.asList(ColumnType.INTEGER, ColumnType.STRING), rows));
+        try {
+            OTSConnection connection = MockAsyncClient.connect(client);
+            // above the reservation chunk, so memory is reserved before the spill
+            connection.setClientInfo(OTSConnection.SPILL_THRESHOLD_IN_BYTES, "262144");
+            Statement statement = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            ResultSet resultSet = statement.executeQuery("SELECT * FROM t");
+            Assert.assertEquals(0, connection.getResultSetMemoryInBytes());
+            Assert.assertTrue(resultSet.last());
+            Assert.assertEquals(2000, resultSet.getRow());
+            Assert.assertEquals(String.format("%0100d", 1999), resultSet.getString(2));
+            connection.close();
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testSpillAcrossWriteBuffers() throws Exception {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 30000; i++) {
+            rows.add(new Object[]{(long) i, String.format("%0100d", i)});
+        }
+        MockAsyncClient client = new MockAsyncClient(query -> MockAsyncClient.response(Arrays.asList("l", "s"),
+                Arrays.asList(ColumnType.INTEGER, ColumnType.STRING), rows));
+        try {
+            OTSConnection connection = MockAsyncClient.connect(client);
+            connection.setClientInfo(OTSConnection.SPILL_THRESHOLD_IN_BYTES, "1000");
+            ResultSet resultSet = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)
+                    .executeQuery("SELECT * FROM t");
+            // rows before, around and after the buffer flushes read back intact
+            for (int i = 0; i < 30000; i += 7) {
+                Assert.assertTrue(resultSet.absolute(i + 1));
+                Assert.assertEquals(i, resultSet.getLong(1));
+                Assert.assertEquals(String.format("%0100d", i), resultSet.getString(2));
+            }
+            Assert.assertTrue(resultSet.last());
+            Assert.assertEquals(29999, resultSet.getLong(1));
+            connection.close();
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testColumnarGrowth() throws SQLException {
+        Assert.assertEquals(32, OTSColumnarRows.grownLength(16, 17));
+        Assert.assertEquals(100, OTSColumnarRows.grownLength(16, 100));
+        // sizes past 1 GiB are computed without overflowing and clamped to the largest array
+        Assert.assertEquals(OTSColumnarRows.MAX_ARRAY_LENGTH, OTSColumnarRows.grownLength(1 << 30, (1L << 30) + 1));
+        Assert.assertEquals(OTSColumnarRows.MAX_ARRAY_LENGTH, OTSColumnarRows.grownLength(OTSColumnarRows.MAX_ARRAY_LENGTH - 1, OTSColumnarRows.MAX_ARRAY_LENGTH));
+        SQLException e = Assert.assertThrows(SQLException.class,
+                () -> OTSColumnarRows.grownLength(OTSColumnarRows.MAX_ARRAY_LENGTH, OTSColumnarRows.MAX_ARRAY_LENGTH + 1L));
+        Assert.assertTrue(e.getMessage().startsWith("Result set is too large"));
+    }
+
+    @Test
+    public void testMemoryLimit() throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rows.add(new Object[]{(long) i, "s" + i});
+        }
+        MockAsyncClient client = new MockAsyncClient(query -> MockAsyncClient.response(Arrays.asList("l", "s"),
+                Arrays.asList(ColumnType.INTEGER, ColumnType.STRING), rows));
+        // result sets left open by other tests count towards the driver
+        long leaked = OTSDriver.getResultSetMemoryInBytes();
+        try {
+            OTSConnection connection = MockAsyncClient.connect(client);
+            connection.setClientInfo(OTSConnection.SPILL_THRESHOLD_IN_BYTES, "0");
+            Statement statement = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            ResultSet resultSet = statement.executeQuery("SELECT * FROM t");
+            long used = connection.unwrap(OTSConnection.class).getResultSetMemoryInBytes();
+            Assert.assertTrue(used > 0);
+            Assert.assertEquals(leaked + used, OTSDriver.getResultSetMemoryInBytes());
+            // forward-only result sets are not materialized
+            connection.createStatement().executeQuery("SELECT * FROM t");
+            Assert.assertEquals(used, connection.getResultSetMemoryInBytes());
+            resultSet.close();
+            Assert.assertEquals(0, connection.getResultSetMemoryInBytes());
+            Assert.assertEquals(leaked, OTSDriver.getResultSetMemoryInBytes());
+
+            // connection limit
+            connection.setClientInfo(OTSConnection.MAX_RESULT_SET_MEMORY_IN_BYTES, String.valueOf(used + used / 2));
+            resultSet = statement.executeQuery("SELECT * FROM t");
+            Statement another = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            SQLException e = Assert.assertThrows(SQLException.class, () -> another.executeQuery("SELECT * FROM t"));
+            Assert.assertTrue(e.getMessage().startsWith("Result set memory limit exceeded"));
+            Assert.assertEquals(used, connection.getResultSetMemoryInBytes());
+            resultSet.close();
+            resultSet = another.executeQuery("SELECT * FROM t");
+            Assert.assertTrue(resultSet.last());
+            Assert.assertEquals(100, resultSet.getRow());
+            another.close();
+
+            // driver limit
+            connection.setClientInfo(OTSConnection.MAX_RESULT_SET_MEMORY_IN_BYTES, "0");
+            OTSDriver.setMaxResultSetMemoryInBytes(leaked + used / 2);
+            Assert.assertThrows(SQLException.class, () -> statement.executeQuery("SELECT * FROM t"));
+            Assert.assertEquals(leaked, OTSDriver.getResultSetMemoryInBytes());
+
+            // spill instead of failing when it is enabled
+            connection.setClientInfo(OTSConnection.SPILL_THRESHOLD_IN_BYTES, String.valueOf(used * 2));
+            resultSet = statement.executeQuery("SELECT * FROM t");
+            Assert.assertEquals(leaked, OTSDriver.getResultSetMemoryInBytes());
+            Assert.assertTrue(resultSet.absolute(100));
+            Assert.assertEquals("s99", resultSet.getString(2));
+            connection.close();
+        } finally {
+            OTSDriver.setMaxResultSetMemoryInBytes(0);
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testConnectionCloseReleasesMemory() throws Exception {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rows.add(new Object[]{(long) i, "s" + i});
+        }
+        MockAsyncClient client = new MockAsyncClient(query -> MockAsyncClient.response(Arrays.asList("l", "s"),
+                Arrays.asList(ColumnType.INTEGER, ColumnType.STRING), rows));
+        long leaked = OTSDriver.getResultSetMemoryInBytes();
+        try {
+            for (boolean abort : new boolean[]{false, true}) {
+                OTSConnection connection = MockAsyncClient.connect(client);
+                ResultSet resultSet = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)
+                        .executeQuery("SELECT * FROM t");
+                // async results are owned by no statement
+                OTSResultSet async = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)
+                        .executeQueryAsync("SELECT * FROM t").get();
+                Assert.assertTrue(OTSDriver.getResultSetMemoryInBytes() > leaked);
+                if (abort) {
+                    connection.abort(Runnable::run);
+                } else {
+                    connection.close();
+                }
+                Assert.assertTrue(resultSet.isClosed());
+                Assert.assertTrue(async.isClosed());
+                Assert.assertEquals(0, connection.getResultSetMemoryInBytes());
+                Assert.assertEquals(leaked, OTSDriver.getResultSetMemoryInBytes());
+                Assert.assertTrue(connection.resultSets.isEmpty());
+            }
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    private static int spillFiles(Path dir) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "ots-jdbc-*.rows")) {
+            int count = 0;
+            for (Path ignored : files) {
+                count++;
+            }
+            return count;
+        }
+    }
+
+    @Test
+    public void testGetObjectWithType() throws SQLException {
+        ZonedDateTime dateTime = ZonedDateTime.of(LocalDateTime.of(2023, 1, 2, 3, 4, 5), ZoneOffset.UTC);
+        SQLResultSet source = MockAsyncClient.response(Arrays.asList("l", "d", "b", "s", "bin", "dt", "t", "date"),
+                Arrays.asList(ColumnType.INTEGER, ColumnType.DOUBLE, ColumnType.BOOLEAN, ColumnType.STRING, ColumnType.BINARY,
+                        ColumnType.DATETIME, ColumnType.TIME, ColumnType.DATE),
+                Arrays.asList(new Object[]{6L, 1.5, true, "2023-01-02", ByteBuffer.wrap("ab".getBytes()), dateTime, Duration.ofSeconds(3723), LocalDate.of(2023, 1, 2)},
+                        new Object[]{null, null, null, null, null, null, null, null})).getSQLResultSet();
+        ResultSet resultSet = new OTSResultSet(null, source, 0, ResultSet.TYPE_SCROLL_INSENSITIVE);
+        Assert.assertThrows(SQLException.class, () -> resultSet.getObject(1, Long.class));
+        Assert.assertTrue(resultSet.next());
+        Assert.assertEquals(Long.valueOf(6), resultSet.getObject(1, Long.class));
+        Assert.assertEquals(Long.valueOf(6), resultSet.getObject("l", Long.class));
+        Assert.assertEquals(Integer.valueOf(6), resultSet.getObject(1, Integer.class));
+        Assert.assertEquals("6", resultSet.getObject(1, String.class));
+        Assert.assertEquals(new BigDecimal(6), resultSet.getObject(1, BigDecimal.class));
+        Assert.assertEquals(Double.valueOf(1.5), resultSet.getObject(2, Double.class));
+        Assert.assertEquals(Long.valueOf(1), resultSet.getObject(2, Long.class));
+        Assert.assertEquals(Boolean.TRUE, resultSet.getObject(3, Boolean.class));
+        Assert.assertEquals(LocalDate.of(2023, 1, 2), resultSet.getObject(4, LocalDate.class));
+        Assert.assertArrayEquals("ab".getBytes(), resultSet.getObject(5, byte[].class));
+        ByteBuffer buffer = resultSet.getObject(5, ByteBuffer.class);
+        Assert.assertEquals(ByteBuffer.wrap("ab".getBytes()), buffer);
+        Assert.assertTrue(buffer.isReadOnly());
+        Assert.assertEquals(dateTime.toLocalDateTime(), resultSet.getObject(6, LocalDateTime.class));
+        Assert.assertEquals(dateTime.toOffsetDateTime(), resultSet.getObject(6, OffsetDateTime.class));
+        Assert.assertEquals(dateTime.toInstant(), resultSet.getObject(6, Instant.class));
+        Assert.assertEquals(Timestamp.valueOf("2023-01-02 03:04:05"), resultSet.getObject(6, Timestamp.class));
+        Assert.assertEquals(LocalTime.of(3, 4, 5), resultSet.getObject(6, LocalTime.class));
+        Assert.assertEquals(LocalTime.of(1, 2, 3), resultSet.getObject(7, LocalTime.class));
+        Assert.assertEquals(Duration.ofSeconds(3723), resultSet.getObject(7, Duration.class));
+        Assert.assertEquals(LocalDate.of(2023, 1, 2), resultSet.getObject(8, LocalDate.class));
+        Assert.assertEquals(LocalDate.of(2023, 1, 2).atStartOfDay(), resultSet.getObject(8, LocalDateTime.class));
+        Assert.assertEquals(java.sql.Date.valueOf("2023-01-02"), resultSet.getObject(8, java.sql.Date.class));
+        Assert.assertThrows(SQLException.class, () -> resultSet.getObject(8, Instant.class));
+        Assert.assertThrows(SQLException.class, () -> resultSet.getObject(1, StringBuilder.class));
+        Assert.assertThrows(SQLException.class, () -> resultSet.getObject(1, (Class<?>) null));
+
+        // null cells map to null for every type
+        Assert.assertTrue(resultSet.next());
+        Assert.assertNull(resultSet.getObject(1, Long.class));
+        Assert.assertNull(resultSet.getObject(2, Double.class));
+        Assert.assertNull(resultSet.getObject(3, Boolean.class));
+        Assert.assertNull(resultSet.getObject(5, ByteBuffer.class));
+        Assert.assertNull(resultSet.getObject(6, Instant.class));
+        Assert.assertNull(resultSet.getObject(7, Duration.class));
+        Assert.assertTrue(resultSet.wasNull());
+    }
+
+    @Test
+    public void testByteBuffer() throws SQLException, IOException {
+        byte[] blob = new byte[1024 * 1024];
+        for (int i = 0; i < blob.length; i++) {
+            blob[i] = (byte) i;
+        }
+        SQLResultSet source = MockAsyncClient.response(Arrays.asList("bin", "s"), Arrays.asList(ColumnType.BINARY, ColumnType.STRING),
+                Arrays.asList(new Object[]{ByteBuffer.wrap(blob), "ab"}, new Object[]{null, null})).getSQLResultSet();
+        OTSResultSet resultSet = new OTSResultSet(null, source, 0, ResultSet.TYPE_FORWARD_ONLY);
+        Assert.assertTrue(resultSet.next());
+        // the buffer is a read-only view of the cell
+        ByteBuffer buffer = resultSet.getByteBuffer(1);
+        Assert.assertTrue(buffer.isReadOnly());
+        Assert.assertEquals(blob.length, buffer.remaining());
+        blob[0] = 42;
+        Assert.assertEquals(42, buffer.get(0));
+        Assert.assertEquals(buffer, resultSet.unwrap(OTSResultSet.class).getByteBuffer("bin"));
+
+        InputStream stream = resultSet.getBinaryStream(1);
+        Assert.assertEquals(blob.length, stream.available());
+        Assert.assertEquals(42, stream.read());
+        Assert.assertEquals(10, stream.skip(10));
+        stream.mark(0);
+        Assert.assertEquals(11, stream.read());
+        stream.reset();
+        Assert.assertEquals(11, stream.read());
+        stream.reset();
+        byte[] rest = IOUtils.toByteArray(stream);
+        Assert.assertArrayEquals(Arrays.copyOfRange(blob, 11, blob.length), rest);
+        Assert.assertEquals(-1, stream.read());
+        Assert.assertEquals(blob.length, resultSet.getBinaryStream(1).available());
+
+        // byte[] is a copy
+        byte[] bytes = resultSet.getBytes(1);
+        bytes[0] = 0;
+        Assert.assertEquals(42, blob[0]);
+        Assert.assertEquals(ByteBuffer.wrap("ab".getBytes()), resultSet.getByteBuffer(2));
+        Assert.assertArrayEquals("ab".getBytes(), IOUtils.toByteArray(resultSet.getBinaryStream(2)));
+
+        Assert.assertTrue(resultSet.next());
+        Assert.assertNull(resultSet.getByteBuffer(1));
+        Assert.assertNull(resultSet.getBinaryStream(1));
+    }
 }
@@ -1,13 +1,28 @@
 package com.alicloud.openservices.tablestore.jdbc;
 
+import com.alicloud.openservices.tablestore.ClientException;
+import com.alicloud.openservices.tablestore.model.ColumnType;
+import com.alicloud.openservices.tablestore.model.sql.SQLStatementType;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class OTSStatementTest {
 
@@ -30,4 +45,253 @@ public class OTSStatementTest {
         // set query timeout to negative value
         Assert.assertThrows(SQLException.class, () -> statement.setQueryTimeout(-1));
     }
+
+    @Test
+    public void testExecuteQueryAsync() throws Exception {
+        MockAsyncClient client = new MockAsyncClient(sql -> {
+            if (sql.startsWith("SELECT")) {
+                return MockAsyncClient.response(Collections.singletonList("id"), Collections.singletonList(ColumnType.INTEGER),
+                        Arrays.asList(new Object[]{1L}, new Object[]{2L}));
+            } else if (sql.startsWith("DROP")) {
+                return MockAsyncClient.response(SQLStatementType.SQL_DROP_TABLE);
+            }
+            throw new ClientException("unexpected query");
+        });
+        try {
+            OTSConnection connection = MockAsyncClient.connect(client);
+            OTSStatement statement = (OTSStatement) connection.createStatement();
+            CompletableFuture<OTSResultSet> future = statement.executeQueryAsync("SELECT id FROM t");
+            TestUtils.assertResultSet(future.get(), new String[]{"id"}, new Object[][]{{1}, {2}});
+            Assert.assertEquals(Collections.singletonList("SELECT id FROM t"), client.queries);
+
+            // statements without result set complete with null
+            Assert.assertNull(statement.executeQueryAsync("DROP TABLE t", Runnable::run).get());
+
+            // failures complete the future exceptionally with the same exception as the blocking api
+            ExecutionException e = Assert.assertThrows(ExecutionException.class, () -> statement.executeQueryAsync("UPDATE t").get());
+            Assert.assertTrue(e.getCause() instanceof SQLException);
+            Assert.assertTrue(e.getCause().getCause() instanceof ClientException);
+            CompletionException join = Assert.assertThrows(CompletionException.class, () -> statement.executeQueryAsync("UPDATE t").join());
+            Assert.assertTrue(join.getCause() instanceof SQLException);
+            Assert.assertThrows(SQLException.class, () -> statement.executeQuery("UPDATE t"));
+
+            // the blocking api shares the same path
+            TestUtils.assertResultSet(statement.executeQuery("SELECT id FROM t"), new String[]{"id"}, new Object[][]{{1}, {2}});
+            connection.close();
+            Assert.assertThrows(SQLException.class, () -> statement.executeQueryAsync("SELECT id FROM t"));
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testResultSetType() throws Exception {
+        MockAsyncClient client = new MockAsyncClient(sql -> MockAsyncClient.response(Collections.singletonList("id"),
+                Collections.singletonList(ColumnType.INTEGER), Arrays.asList(new Object[]{1L}, new Object[]{2L})));
+        try {
+            OTSConnection connection = MockAsyncClient.connect(client);
+            Assert.assertEquals(ResultSet.TYPE_FORWARD_ONLY, connection.createStatement().executeQuery("SELECT id FROM t").getType());
+            Statement statement = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            Assert.assertEquals(ResultSet.TYPE_SCROLL_INSENSITIVE, statement.getResultSetType());
+            ResultSet resultSet = statement.executeQuery("SELECT id FROM t");
+            Assert.assertTrue(resultSet.last());
+            Assert.assertEquals(2, resultSet.getInt(1));
+            Assert.assertEquals(ResultSet.TYPE_SCROLL_INSENSITIVE,
+                    connection.prepareStatement("SELECT id FROM t", ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY).executeQuery().getType());
+            Assert.assertThrows(SQLFeatureNotSupportedException.class, () -> connection.createStatement(ResultSet.TYPE_SCROLL_SENSITIVE, ResultSet.CONCUR_READ_ONLY));
+            Assert.assertThrows(SQLFeatureNotSupportedException.class, () -> connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_UPDATABLE));
+            connection.close();
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testAppendLimit() {
+        Assert.assertEquals("SELECT * FROM t", OTSStatement.appendLimit("SELECT * FROM t", 0));
+        Assert.assertEquals("SELECT * FROM t LIMIT 10", OTSStatement.appendLimit("SELECT * FROM t", 10));
+        Assert.assertEquals("select a FROM t WHERE b = 'limit' LIMIT 10", OTSStatement.appendLimit("select a FROM t WHERE b = 'limit' ;\n", 10));
+        Assert.assertEquals("SELECT `limit` FROM (SELECT * FROM t LIMIT 5) s LIMIT 10", OTSStatement.appendLimit("SELECT `limit` FROM (SELECT * FROM t LIMIT 5) s", 10));
+        Assert.assertEquals("SELECT * FROM t WHERE a = 'it\\'s' LIMIT 10", OTSStatement.appendLimit("SELECT * FROM t WHERE a = 'it\\'s'", 10));
+        // unsafe to rewrite
+        Assert.assertEquals("SELECT * FROM t LIMIT 5", OTSStatement.appendLimit("SELECT * FROM t LIMIT 5", 10));
+        Assert.assertEquals("SELECT * FROM t limit 5, 10", OTSStatement.appendLimit("SELECT * FROM t limit 5, 10", 10));
+        Assert.assertEquals("SHOW TABLES", OTSStatement.appendLimit("SHOW TABLES", 10));
+        Assert.assertEquals("DESCRIBE t", OTSStatement.appendLimit("DESCRIBE t", 10));
+        Assert.assertEquals("(SELECT * FROM t)", OTSStatement.appendLimit("(SELECT * FROM t)", 10));
+        Assert.assertEquals("SELECT * FROM t -- comment", OTSStatement.appendLimit("SELECT * FROM t -- comment", 10));
+        Assert.assertEquals("SELECT * FROM t /* comment */", OTSStatement.appendLimit("SELECT * FROM t /* comment */", 10));
+        Assert.assertEquals("SELECT * FROM t # comment", OTSStatement.appendLimit("SELECT * FROM t # comment", 10));
+        Assert.assertEquals("SELECT 1; SELECT 2", OTSStatement.appendLimit("SELECT 1; SELECT 2", 10));
+        Assert.assertEquals("SELECT * FROM t WHERE a = 'x", OTSStatement.appendLimit("SELECT * FROM t WHERE a = 'x", 10));
+    }
+
+    @Test
+    public void testHasTopLevelOrderBy() {
+        Assert.assertTrue(OTSStatement.hasTopLevelOrderBy("SELECT * FROM t ORDER BY a"));
+        Assert.assertTrue(OTSStatement.hasTopLevelOrderBy("select * from t order\n  by a, b desc"));
+        Assert.assertFalse(OTSStatement.hasTopLevelOrderBy("SELECT * FROM t"));
+        Assert.assertFalse(OTSStatement.hasTopLevelOrderBy("SELECT * FROM (SELECT * FROM t ORDER BY a) s"));
+        Assert.assertFalse(OTSStatement.hasTopLevelOrderBy("SELECT * FROM t WHERE a = 'ORDER BY a'"));
+        Assert.assertFalse(OTSStatement.hasTopLevelOrderBy("SELECT `order`, by FROM t"));
+        Assert.assertFalse(OTSStatement.hasTopLevelOrderBy("SELECT border, by FROM t"));
+        // scanned like toLimitable, so comments and escaped quotes hide the clause as well
+        Assert.assertFalse(OTSStatement.hasTopLevelOrderBy("SELECT * FROM t -- ORDER BY a"));
+        Assert.assertFalse(OTSStatement.hasTopLevelOrderBy("SELECT * FROM t /* ORDER BY a */"));
+        Assert.assertFalse(OTSStatement.hasTopLevelOrderBy("SELECT * FROM t WHERE a = 'it\\' ORDER BY a'"));
+    }
+
+    @Test
+    public void testMaxRows() throws Exception {
+        MockAsyncClient client = new MockAsyncClient(sql -> MockAsyncClient.response(Collections.singletonList("id"),
+                Collections.singletonList(ColumnType.INTEGER), Arrays.asList(new Object[]{1L}, new Object[]{2L}, new Object[]{3L})));
+        try {
+            OTSConnection connection = MockAsyncClient.connect(client);
+            Statement statement = connection.createStatement();
+            statement.setMaxRows(2);
+            TestUtils.assertResultSet(statement.executeQuery("SELECT id FROM t"), new String[]{"id"}, new Object[][]{{1}, {2}});
+            Assert.assertEquals("SELECT id FROM t LIMIT 2", client.queries.get(0));
+            // the result set still truncates when the query cannot be rewritten
+            TestUtils.assertResultSet(statement.executeQuery("SELECT id FROM t LIMIT 3"), new String[]{"id"}, new Object[][]{{1}, {2}});
+            Assert.assertEquals("SELECT id FROM t LIMIT 3", client.queries.get(1));
+            Statement scrollable = connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+            scrollable.setMaxRows(1);
+            ResultSet resultSet = scrollable.executeQuery("SELECT id FROM t LIMIT 3");
+            Assert.assertTrue(resultSet.last());
+            Assert.assertEquals(1, resultSet.getRow());
+            connection.close();
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testFetchSize() throws Exception {
+        List<Object[]> rows = new ArrayList<>();
+        for (long i = 0; i < 10; i++) {
+            rows.add(new Object[]{i});
+        }
+        Pattern limit = Pattern.compile(".* LIMIT (\\d+), (\\d+)$");
+        MockAsyncClient client = new MockAsyncClient(sql -> {
+            Matcher matcher = limit.matcher(sql);
+            List<Object[]> page = rows;
+            if (matcher.matches()) {
+                int offset = Integer.parseInt(matcher.group(1));
+                page = rows.subList(Math.min(offset, rows.size()), Math.min(offset + Integer.parseInt(matcher.group(2)), rows.size()));
+            }
+            return MockAsyncClient.response(Collections.singletonList("id"), Collections.singletonList(ColumnType.INTEGER), page);
+        });
+        try {
+            OTSConnection connection = MockAsyncClient.connect(client);
+            Statement statement = connection.createStatement();
+            Assert.assertThrows(SQLException.class, () -> statement.setFetchSize(-1));
+            statement.setFetchSize(4);
+            Assert.assertEquals(4, statement.getFetchSize());
+            // a hint only unless paging is enabled
+            ResultSet resultSet = statement.executeQuery("SELECT id FROM t ORDER BY id");
+            Assert.assertEquals(10, count(resultSet));
+            Assert.assertEquals(Collections.singletonList("SELECT id FROM t ORDER BY id"), client.queries);
+
+            connection.setClientInfo(OTSConnection.ENABLE_FETCH_SIZE_PAGING, "true");
+            client.queries.clear();
+            resultSet = statement.executeQuery("SELECT id FROM t ORDER BY id;");
+            Assert.assertEquals(4, resultSet.getFetchSize());
+            // the second page is requested before the first one is read
+            Assert.assertEquals(Arrays.asList("SELECT id FROM t ORDER BY id LIMIT 0, 4", "SELECT id FROM t ORDER BY id LIMIT 4, 4"), client.queries);
+            for (int i = 0; i < 10; i++) {
+                Assert.assertTrue(resultSet.next());
+                Assert.assertEquals(i, resultSet.getLong(1));
+                Assert.assertEquals(i == 9, resultSet.isLast());
+            }
+            Assert.assertFalse(resultSet.next());
+            Assert.assertEquals("SELECT id FROM t ORDER BY id LIMIT 8, 4", client.queries.get(2));
+            Assert.assertEquals(3, client.queries.size());
+
+            // max rows caps the pages
+            client.queries.clear();
+            statement.setMaxRows(6);
+            resultSet = statement.executeQuery("SELECT id FROM t ORDER BY id");
+            resultSet.setFetchSize(1);
+            Object[][] expected = new Object[6][];
+            for (int i = 0; i < 6; i++) {
+                expected[i] = new Object[]{i};
+            }
+            TestUtils.assertResultSet(resultSet, new String[]{"id"}, expected);
+            Assert.assertEquals(Arrays.asList("SELECT id FROM t ORDER BY id LIMIT 0, 4", "SELECT id FROM t ORDER BY id LIMIT 4, 2"), client.queries);
+
+            // without a top-level ORDER BY the pages would not line up
+            client.queries.clear();
+            statement.setMaxRows(0);
+            Assert.assertEquals(10, count(statement.executeQuery("SELECT id FROM (SELECT id FROM t ORDER BY id) s")));
+            Assert.assertEquals(Collections.singletonList("SELECT id FROM (SELECT id FROM t ORDER BY id) s"), client.queries);
+
+            // queries that cannot be paged are sent in one request
+            client.queries.clear();
+            statement.setMaxRows(0);
+            resultSet = statement.executeQuery("SELECT id FROM t LIMIT 10");
+            while (resultSet.next()) {
+                Assert.assertEquals(resultSet.getRow() - 1, resultSet.getLong(1));
+            }
+            Assert.assertEquals(10, resultSet.getRow());
+            Assert.assertEquals(Collections.singletonList("SELECT id FROM t LIMIT 10"), client.queries);
+            connection.close();
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        // requests never complete unless cancelled
+        MockAsyncClient client = new MockAsyncClient(sql -> null);
+        try {
+            OTSConnection connection = MockAsyncClient.connect(client);
+            OTSStatement statement = connection.createStatement();
+            CompletableFuture<OTSResultSet> async = statement.executeQueryAsync("SELECT 1");
+            CompletableFuture<Void> blocking = CompletableFuture.runAsync(() -> {
+                SQLException e = Assert.assertThrows(SQLException.class, () -> statement.executeQuery("SELECT 2"));
+                Assert.assertTrue(e.getCause() instanceof CancellationException);
+            });
+            while (client.queries.size() < 2) {
+                Thread.sleep(10);
+            }
+            statement.cancel();
+            blocking.get();
+            Assert.assertThrows(CancellationException.class, async::join);
+            Assert.assertTrue(connection.requests.isEmpty());
+            // nothing in flight
+            statement.cancel();
+            connection.close();
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    public void testAbort() throws Exception {
+        MockAsyncClient client = new MockAsyncClient(sql -> null);
+        try {
+            OTSConnection connection = MockAsyncClient.connect(client);
+            CompletableFuture<OTSResultSet> future1 = connection.createStatement().executeQueryAsync("SELECT 1");
+            CompletableFuture<OTSResultSet> future2 = connection.createStatement().executeQueryAsync("SELECT 2");
+            Assert.assertThrows(SQLException.class, () -> connection.abort(null));
+            connection.abort(Runnable::run);
+            Assert.assertTrue(connection.isClosed());
+            Assert.assertNull(connection.otsClient);
+            Assert.assertThrows(CancellationException.class, future1::join);
+            Assert.assertThrows(CancellationException.class, future2::join);
+            // aborting a closed connection is a no-op
+            connection.abort(Runnable::run);
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    private static int count(ResultSet resultSet) throws SQLException {
+        int count = 0;
+        while (resultSet.next()) {
+            count++;
+        }
+        return count;
+    }
 }
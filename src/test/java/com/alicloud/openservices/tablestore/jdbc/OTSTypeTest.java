@@ -0,0 +1,37 @@
+package com.alicloud.openservices.tablestore.jdbc;
+
+import com.alicloud.openservices.tablestore.model.ColumnType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.Types;
+
+public class OTSTypeTest {
+
+    @Test
+    public void testParse() {
+        OTSTypeDescriptor varchar = OTSType.parse("varchar(16)");
+        Assert.assertEquals(OTSType.VARCHAR, varchar.getType());
+        Assert.assertEquals(16, varchar.getPrecision());
+        Assert.assertSame(varchar, OTSType.parse("varchar(16)"));
+        // the precision of one column does not leak into the type
+        Assert.assertEquals(1024, OTSType.VARCHAR.getPrecision());
+        Assert.assertEquals(1024, OTSType.parse("VARCHAR").getPrecision());
+        Assert.assertEquals(new OTSTypeDescriptor(OTSType.VARCHAR, 1024), OTSType.parse("VARCHAR(1024)"));
+
+        Assert.assertEquals(new OTSTypeDescriptor(OTSType.BIGINT, 20), OTSType.parse("bigint(20)"));
+        Assert.assertEquals(new OTSTypeDescriptor(OTSType.DOUBLE, 10), OTSType.parse("double(10, 2)"));
+        Assert.assertEquals(new OTSTypeDescriptor(OTSType.BOOLEAN, 1), OTSType.parse("tinyint(1)"));
+        Assert.assertEquals(OTSType.MEDIUMTEXT, OTSType.parse("mediumtext").getType());
+        Assert.assertEquals(OTSType.UNKNOWN, OTSType.parse("geometry").getType());
+        Assert.assertEquals(Types.VARBINARY, OTSType.parse("varbinary(8)").getJdbcType());
+        Assert.assertEquals(OTSType.BIGINT, OTSType.getByName("BIGINT(20)"));
+    }
+
+    @Test
+    public void testResultSetColumns() {
+        Assert.assertEquals(OTSType.BIGINT, OTSType.of(ColumnType.INTEGER).getType());
+        Assert.assertEquals(OTSDatabaseMetaData.MAX_STRING_LENGTH, OTSType.of(ColumnType.STRING).getPrecision());
+        Assert.assertNull(OTSType.of(ColumnType.DATETIME));
+    }
+}
@@ -0,0 +1,103 @@
+package com.alicloud.openservices.tablestore.jdbc;
+
+import com.alicloud.openservices.tablestore.model.ColumnType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+public class OTSValueConverterTest {
+
+    @Test
+    public void testTypedConverters() throws SQLException {
+        OTSValueConverter integer = OTSValueConverter.forColumn(ColumnType.INTEGER, "BIGINT");
+        Assert.assertEquals(6, integer.getLong(6L));
+        Assert.assertEquals(6.0, integer.getDouble(6L), 0);
+        Assert.assertTrue(integer.getBoolean(6L));
+        Assert.assertEquals(new BigDecimal(6), integer.getBigDecimal(6L));
+        Assert.assertEquals("6", integer.getString(6L));
+
+        OTSValueConverter dbl = OTSValueConverter.forColumn(ColumnType.DOUBLE, "DOUBLE");
+        Assert.assertEquals(1, dbl.getLong(1.5));
+        Assert.assertEquals("1.5", dbl.getString(1.5));
+        Assert.assertEquals(BigDecimal.valueOf(1.5), dbl.getBigDecimal(1.5));
+
+        OTSValueConverter bool = OTSValueConverter.forColumn(ColumnType.BOOLEAN, "BOOL");
+        Assert.assertEquals(1, bool.getLong(true));
+        Assert.assertEquals("false", bool.getString(false));
+
+        OTSValueConverter string = OTSValueConverter.forColumn(ColumnType.STRING, "VARCHAR");
+        Assert.assertEquals(12, string.getLong("12"));
+        Assert.assertArrayEquals("ab".getBytes(), string.getBytes("ab"));
+
+        OTSValueConverter binary = OTSValueConverter.forColumn(ColumnType.BINARY, "VARBINARY");
+        Assert.assertEquals("ab", binary.getString(ByteBuffer.wrap("ab".getBytes())));
+        Assert.assertEquals(12, binary.getLong(ByteBuffer.wrap("12".getBytes())));
+
+        OTSValueConverter datetime = OTSValueConverter.forColumn(ColumnType.DATETIME, "TIMESTAMP");
+        ZonedDateTime time = ZonedDateTime.of(LocalDateTime.of(2023, 1, 2, 3, 4, 5), ZoneOffset.UTC);
+        Assert.assertEquals(Timestamp.valueOf("2023-01-02 03:04:05"), datetime.getTimestamp(time));
+        Assert.assertEquals("2023-01-02 03:04:05.0", datetime.getString(time));
+
+        Assert.assertEquals(Time.valueOf("01:02:03"), OTSValueConverter.forColumn(ColumnType.TIME, "TIME").getTime(Duration.ofSeconds(3723)));
+        Assert.assertEquals(java.sql.Date.valueOf("2023-01-02"), OTSValueConverter.forColumn(ColumnType.DATE, "DATE").getDate(LocalDate.of(2023, 1, 2)));
+    }
+
+    @Test
+    public void testFallback() throws SQLException {
+        // values that do not match the column type use the generic conversions
+        OTSValueConverter integer = OTSValueConverter.forColumn(ColumnType.INTEGER, "BIGINT");
+        Assert.assertEquals(12, integer.getLong("12"));
+        Assert.assertEquals(1, integer.getLong(true));
+        Assert.assertEquals("ab", integer.getString(ByteBuffer.wrap("ab".getBytes())));
+        SQLException e = Assert.assertThrows(SQLException.class, () -> integer.getTimestamp(6L));
+        Assert.assertEquals("Unsupported conversion from BIGINT to java.sql.Timestamp", e.getMessage());
+        Assert.assertThrows(SQLException.class, () -> OTSValueConverter.forColumn(ColumnType.DATE, "DATE").getLong(LocalDate.now()));
+    }
+
+    @Test
+    public void testDecodeBinary() throws SQLException {
+        OTSValueConverter binary = OTSValueConverter.forColumn(ColumnType.BINARY, "VARBINARY");
+        byte[] utf8 = "表格存储".getBytes(StandardCharsets.UTF_8);
+        Assert.assertEquals("表格存储", binary.getString(ByteBuffer.wrap(utf8)));
+        ByteBuffer direct = ByteBuffer.allocateDirect(utf8.length);
+        direct.put(utf8).flip();
+        Assert.assertEquals("表格存储", binary.getString(direct));
+        Assert.assertEquals(0, direct.position());
+        ByteBuffer slice = ByteBuffer.wrap("xxabc".getBytes(StandardCharsets.UTF_8), 2, 3);
+        Assert.assertEquals("abc", binary.getString(slice));
+        Assert.assertEquals(2, slice.position());
+
+        // low cardinality values share one instance
+        String first = binary.getString(ByteBuffer.wrap("OK".getBytes(StandardCharsets.UTF_8)));
+        Assert.assertSame(first, binary.getString(ByteBuffer.wrap("OK".getBytes(StandardCharsets.UTF_8))));
+
+        // numbers are parsed from the bytes
+        Assert.assertEquals(123, binary.getLong(ByteBuffer.wrap("123".getBytes())));
+        Assert.assertEquals(-123, binary.getLong(ByteBuffer.wrap("-123".getBytes())));
+        Assert.assertEquals(Long.MAX_VALUE, binary.getLong(ByteBuffer.wrap(String.valueOf(Long.MAX_VALUE).getBytes())));
+        Assert.assertEquals(Long.MIN_VALUE, binary.getLong(ByteBuffer.wrap(String.valueOf(Long.MIN_VALUE).getBytes())));
+        Assert.assertEquals(45, binary.getLong(ByteBuffer.wrap("12345".getBytes(), 3, 2)));
+        Assert.assertThrows(NumberFormatException.class, () -> binary.getLong(ByteBuffer.wrap("9223372036854775808".getBytes())));
+        Assert.assertThrows(NumberFormatException.class, () -> binary.getLong(ByteBuffer.wrap("1.5".getBytes())));
+        Assert.assertThrows(NumberFormatException.class, () -> binary.getLong(ByteBuffer.wrap("-".getBytes())));
+        Assert.assertThrows(NumberFormatException.class, () -> binary.getLong(ByteBuffer.wrap(new byte[0])));
+        Assert.assertEquals(-42.0, binary.getDouble(ByteBuffer.wrap("-42".getBytes())), 0);
+        Assert.assertEquals(1.5e10, binary.getDouble(ByteBuffer.wrap("1.5e10".getBytes())), 0);
+        Assert.assertEquals(12345678901234567.0, binary.getDouble(ByteBuffer.wrap("12345678901234567".getBytes())), 0);
+        Assert.assertTrue(binary.getBoolean(ByteBuffer.wrap("TrUe".getBytes())));
+        Assert.assertFalse(binary.getBoolean(ByteBuffer.wrap("yes".getBytes())));
+        Assert.assertEquals(new BigDecimal("-1.25"), binary.getBigDecimal(ByteBuffer.wrap("-1.25".getBytes())));
+        Assert.assertArrayEquals(utf8, OTSValueConverter.forColumn(ColumnType.STRING, "VARCHAR").getBytes("表格存储"));
+    }
+}